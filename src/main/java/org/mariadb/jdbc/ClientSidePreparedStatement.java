@@ -56,7 +56,6 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
-import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -160,10 +159,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
    *     </code> object
    */
   public ResultSet executeQuery() throws SQLException {
-    if (execute()) {
-      return results.getResultSet();
-    }
-    return SelectResultSet.createEmptyResultSet();
+    return executeCacheableQuery(sqlQuery, parameters, false, this::execute);
   }
 
   /**
@@ -220,6 +216,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
         protocol.executeQuery(protocol.isMasterConnection(), results, prepareResult, parameters);
       }
       results.commandEnd();
+      connection.checkCaches(sqlQuery);
       return results.getResultSet() != null;
 
     } catch (SQLException exception) {
@@ -300,6 +297,8 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
     } catch (SQLException sqle) {
       throw executeBatchExceptionEpilogue(sqle, size);
     } finally {
+      // part of batch may have been executed
+      connection.checkCaches(sqlQuery);
       executeBatchEpilogue();
       lock.unlock();
     }
@@ -341,6 +340,8 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
     } catch (SQLException sqle) {
       throw executeBatchExceptionEpilogue(sqle, size);
     } finally {
+      // part of batch may have been executed
+      connection.checkCaches(sqlQuery);
       executeBatchEpilogue();
       lock.unlock();
     }
@@ -367,8 +368,16 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
             protocol.getAutoIncrementIncrement(),
             null,
             null);
+
+    // batch timeout is handled by timer, but server will also abort any command exceeding timeout
+    int serverTimeout = canUseServerTimeout ? queryTimeout : 0;
     if (protocol.executeBatchClient(
-        protocol.isMasterConnection(), results, prepareResult, parameterList, hasLongData)) {
+        protocol.isMasterConnection(),
+        results,
+        prepareResult,
+        parameterList,
+        hasLongData,
+        serverTimeout)) {
       return;
     }
 
@@ -383,7 +392,8 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
               protocol.isMasterConnection(),
               results,
               prepareResult,
-              parameterList.get(batchQueriesCount));
+              parameterList.get(batchQueriesCount),
+              serverTimeout);
         } catch (SQLException e) {
           if (options.continueBatchOnError) {
             exception = e;
@@ -67,8 +67,11 @@ import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.util.CallableStatementCache;
 import org.mariadb.jdbc.internal.util.ConnectionState;
+import org.mariadb.jdbc.internal.util.MetadataCache;
+import org.mariadb.jdbc.internal.util.ResultCache;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.dao.CallableStatementCacheKey;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.dao.CloneableCallableStatement;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
@@ -706,6 +709,10 @@ public class MariaDbConnection implements Connection {
       stateFlag |= ConnectionState.STATE_AUTOCOMMIT;
       stmt.executeUpdate("set autocommit=" + ((autoCommit) ? "1" : "0"));
     }
+    if (autoCommit) {
+      // enabling autocommit commits current transaction
+      invalidateResultCache();
+    }
   }
 
   /**
@@ -720,6 +727,8 @@ public class MariaDbConnection implements Connection {
         try (Statement st = createStatement()) {
           st.execute("COMMIT");
         }
+        // results cached by other connections before transaction end may be outdated
+        invalidateResultCache();
       }
     } finally {
       lock.unlock();
@@ -738,6 +747,7 @@ public class MariaDbConnection implements Connection {
         try (Statement st = createStatement()) {
           st.execute("ROLLBACK");
         }
+        invalidateResultCache();
       }
     } finally {
       lock.unlock();
@@ -761,6 +771,7 @@ public class MariaDbConnection implements Connection {
     try (Statement st = createStatement()) {
       st.execute("ROLLBACK TO SAVEPOINT `" + savepoint.getSavepointName() + "`");
     }
+    invalidateResultCache();
   }
 
   /**
@@ -795,6 +806,78 @@ public class MariaDbConnection implements Connection {
     return new MariaDbDatabaseMetaData(this, protocol.getUrlParser());
   }
 
+  /**
+   * Get DatabaseMetaData results cache.
+   *
+   * @return metadata cache, or null if option "metadataCacheTtl" is not set
+   */
+  public MetadataCache getMetadataCache() {
+    // not kept by connection, since unused caches are removed
+    return options.metadataCacheTtl > 0 ? MetadataCache.get(protocol.getUrlParser()) : null;
+  }
+
+  /**
+   * Invalidate cached DatabaseMetaData results, for all connections sharing the same cache. Useful
+   * when schema has been changed by another client.
+   */
+  public void invalidateMetadataCache() {
+    MetadataCache metadataCache = getMetadataCache();
+    if (metadataCache != null) {
+      metadataCache.invalidate();
+    }
+  }
+
+  /**
+   * Get query results cache.
+   *
+   * @return result cache, or null if option "resultCacheTtl" is not set
+   */
+  public ResultCache getResultCache() {
+    // not kept by connection, since unused caches are removed
+    return options.resultCacheTtl > 0 ? ResultCache.get(protocol.getUrlParser()) : null;
+  }
+
+  /**
+   * Invalidate cached query results, for all connections sharing the same cache. Useful when data
+   * has been changed by another client.
+   */
+  public void invalidateResultCache() {
+    ResultCache resultCache = getResultCache();
+    if (resultCache != null) {
+      resultCache.invalidate();
+    }
+  }
+
+  /**
+   * Indicate if executed queries must be checked with {@link #checkCaches(String)}.
+   *
+   * @return true if a metadata or result cache is enabled
+   */
+  boolean hasCaches() {
+    return options.metadataCacheTtl > 0 || options.resultCacheTtl > 0;
+  }
+
+  /**
+   * Invalidate cached DatabaseMetaData results if query is a DDL command, and cached query results
+   * if query is not read-only. Queries containing multiple commands are considered as both.
+   *
+   * @param sql executed query
+   */
+  void checkCaches(String sql) {
+    if (sql == null) {
+      return;
+    }
+    boolean multiQuery =
+        options.allowMultiQueries
+            && ClientPrepareResult.isMultiQuery(sql, protocol.noBackslashEscapes());
+    if (options.metadataCacheTtl > 0 && (multiQuery || Utils.isDdl(sql))) {
+      MetadataCache.get(protocol.getUrlParser()).invalidate();
+    }
+    if (options.resultCacheTtl > 0 && (multiQuery || !Utils.isReadOnlyQuery(sql))) {
+      ResultCache.get(protocol.getUrlParser()).invalidate();
+    }
+  }
+
   /**
    * Retrieves whether this <code>Connection</code> object is in read-only mode.
    *
@@ -1706,6 +1789,11 @@ public class MariaDbConnection implements Connection {
                     && protocol.getMinorServerVersion() == 2
                     && protocol.versionGreaterOrEqual(10, 2, 22)));
 
+    if (options.usePipelinedReset && protocol.getProxy() == null) {
+      resetPipelined(useComReset);
+      return;
+    }
+
     if (useComReset) {
       protocol.reset();
     }
@@ -1745,6 +1833,50 @@ public class MariaDbConnection implements Connection {
     warningsCleared = true;
   }
 
+  /**
+   * Reset connection without waiting for results: reset commands are sent in a row, results are
+   * read by {@link #completeReset()} or before next command.
+   *
+   * @param useComReset must send a COM_RESET_CONNECTION
+   * @throws SQLException if sending reset commands failed
+   */
+  private void resetPipelined(boolean useComReset) throws SQLException {
+    try {
+      if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
+        setNetworkTimeout(null, options.socketTimeout);
+      }
+
+      if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
+        setReadOnly(false); // default to master connection
+      }
+
+      protocol.resetPipelined(
+          useComReset,
+          (stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0 ? options.autocommit : null,
+          (stateFlag & ConnectionState.STATE_DATABASE) != 0,
+          // COM_RESET_CONNECTION reset transaction isolation
+          !useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0
+              ? defaultTransactionIsolation
+              : null);
+
+      stateFlag = 0;
+
+    } catch (SQLException sqle) {
+      throw exceptionFactory.create("error resetting connection", sqle);
+    }
+
+    warningsCleared = true;
+  }
+
+  /**
+   * Read results of a reset sent with option usePipelinedReset, if not already read.
+   *
+   * @throws SQLException if resetting connection failed
+   */
+  public void completeReset() throws SQLException {
+    protocol.readPendingResetResults();
+  }
+
   public boolean includeDeadLockInfo() {
     return options.includeInnodbStatusInDeadlockExceptions;
   }
@@ -56,12 +56,17 @@ import java.sql.*;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream;
+import org.mariadb.jdbc.internal.util.MetadataCache;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.constant.Version;
 import org.mariadb.jdbc.internal.util.dao.Identifier;
@@ -506,6 +511,34 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   }
 
   private ResultSet executeQuery(String sql) throws SQLException {
+    MetadataCache cache = connection.getMetadataCache();
+    if (cache == null) {
+      return executeUncachedQuery(sql);
+    }
+
+    // database is part of the key, since queries may refer to current database
+    String database = connection.getProtocol().getDatabase();
+    MetadataCache.Entry entry = cache.get(database, sql);
+    if (entry != null) {
+      SelectResultSet rs =
+          new SelectResultSet(
+              entry.getColumns(),
+              entry.getRows(),
+              connection.getProtocol(),
+              ResultSet.TYPE_FORWARD_ONLY);
+      rs.setForceTableAlias();
+      return rs;
+    }
+
+    long generation = cache.getGeneration();
+    SelectResultSet rs = executeUncachedQuery(sql);
+    if (rs.isFullyLoaded()) {
+      cache.put(database, sql, generation, rs.getColumnsInformation(), rs.getLoadedRows());
+    }
+    return rs;
+  }
+
+  private SelectResultSet executeUncachedQuery(String sql) throws SQLException {
     Statement stmt = connection.createStatement();
     SelectResultSet rs = (SelectResultSet) stmt.executeQuery(sql);
     rs.setStatement(null); // bypass Hibernate statement tracking (CONJ-49)
@@ -594,21 +627,29 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
    * @throws SQLException if a database access error occurs
    */
   public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
-    // MySQL 8 now use 'PRI' in place of 'pri'
-    String sql =
-        "SELECT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
-            + " FROM INFORMATION_SCHEMA.COLUMNS A, INFORMATION_SCHEMA.STATISTICS B"
-            + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
-            + " AND "
-            + catalogCond("A.TABLE_SCHEMA", catalog)
-            + " AND "
-            + catalogCond("B.TABLE_SCHEMA", catalog)
-            + patternCond("A.TABLE_NAME", table)
-            + patternCond("B.TABLE_NAME", table)
-            + " AND A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME "
-            + " ORDER BY A.COLUMN_NAME";
+    return executeQuery(primaryKeysQuery(catalog, table));
+  }
 
-    return executeQuery(sql);
+  private String primaryKeysQuery(String catalog, String table) {
+    return primaryKeysQuery(
+        catalog,
+        patternCond("A.TABLE_NAME", table) + patternCond("B.TABLE_NAME", table),
+        "A.COLUMN_NAME");
+  }
+
+  private String primaryKeysQuery(String catalog, String tableCondition, String orderBy) {
+    // MySQL 8 now use 'PRI' in place of 'pri'
+    return "SELECT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
+        + " FROM INFORMATION_SCHEMA.COLUMNS A, INFORMATION_SCHEMA.STATISTICS B"
+        + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
+        + " AND "
+        + catalogCond("A.TABLE_SCHEMA", catalog)
+        + " AND "
+        + catalogCond("B.TABLE_SCHEMA", catalog)
+        + tableCondition
+        + " AND A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME "
+        + " ORDER BY "
+        + orderBy;
   }
 
   /**
@@ -776,53 +817,11 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public ResultSet getColumns(
       String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern)
       throws SQLException {
-    Options options = urlParser.getOptions();
     String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
-            + dataTypeClause("COLUMN_TYPE")
-            + " DATA_TYPE,"
-            + columnTypeClause(options)
-            + " TYPE_NAME, "
-            + " CASE DATA_TYPE"
-            + "  WHEN 'time' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 10, CAST(11 + DATETIME_PRECISION as signed integer))"
-                : "10")
-            + "  WHEN 'date' THEN 10"
-            + "  WHEN 'datetime' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
-                : "19")
-            + "  WHEN 'timestamp' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
-                : "19")
-            + (options.yearIsDateType ? "" : " WHEN 'year' THEN 5")
-            + "  ELSE "
-            + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
-            + Integer.MAX_VALUE
-            + "), NUMERIC_PRECISION) "
-            + " END"
-            + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
-            + " CONVERT (CASE DATA_TYPE"
-            + " WHEN 'year' THEN "
-            + (options.yearIsDateType ? "NUMERIC_SCALE" : "0")
-            + " WHEN 'tinyint' THEN "
-            + (options.tinyInt1isBit ? "0" : "NUMERIC_SCALE")
-            + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
-            + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
-            + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
-            + " LEAST(CHARACTER_OCTET_LENGTH,"
-            + Integer.MAX_VALUE
-            + ") CHAR_OCTET_LENGTH,"
-            + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
-            + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
-            + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED') ,'YES','NO') IS_GENERATEDCOLUMN "
-            + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + patternCond("TABLE_NAME", tableNamePattern)
-            + patternCond("COLUMN_NAME", columnNamePattern)
-            + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
+        columnsQuery(
+            catalog,
+            patternCond("TABLE_NAME", tableNamePattern)
+                + patternCond("COLUMN_NAME", columnNamePattern));
 
     try {
       return executeQuery(sql);
@@ -835,6 +834,54 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
     }
   }
 
+  private String columnsQuery(String catalog, String condition) {
+    Options options = urlParser.getOptions();
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
+        + dataTypeClause("COLUMN_TYPE")
+        + " DATA_TYPE,"
+        + columnTypeClause(options)
+        + " TYPE_NAME, "
+        + " CASE DATA_TYPE"
+        + "  WHEN 'time' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 10, CAST(11 + DATETIME_PRECISION as signed integer))"
+            : "10")
+        + "  WHEN 'date' THEN 10"
+        + "  WHEN 'datetime' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
+            : "19")
+        + "  WHEN 'timestamp' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
+            : "19")
+        + (options.yearIsDateType ? "" : " WHEN 'year' THEN 5")
+        + "  ELSE "
+        + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
+        + Integer.MAX_VALUE
+        + "), NUMERIC_PRECISION) "
+        + " END"
+        + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
+        + " CONVERT (CASE DATA_TYPE"
+        + " WHEN 'year' THEN "
+        + (options.yearIsDateType ? "NUMERIC_SCALE" : "0")
+        + " WHEN 'tinyint' THEN "
+        + (options.tinyInt1isBit ? "0" : "NUMERIC_SCALE")
+        + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
+        + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
+        + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
+        + " LEAST(CHARACTER_OCTET_LENGTH,"
+        + Integer.MAX_VALUE
+        + ") CHAR_OCTET_LENGTH,"
+        + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
+        + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
+        + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED') ,'YES','NO') IS_GENERATEDCOLUMN "
+        + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + condition
+        + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
+  }
+
   /**
    * Retrieves a description of the foreign key columns that reference the given table's primary key
    * columns (the foreign keys exported by a table). They are ordered by FKTABLE_CAT, FKTABLE_SCHEM,
@@ -3370,21 +3417,252 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public ResultSet getIndexInfo(
       String catalog, String schema, String table, boolean unique, boolean approximate)
       throws SQLException {
+    return executeQuery(indexInfoQuery(catalog, table, unique));
+  }
 
-    String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
-            + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, 3 TYPE,"
-            + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
-            + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
-            + " FROM INFORMATION_SCHEMA.STATISTICS"
-            + " WHERE TABLE_NAME = "
-            + escapeQuote(table)
-            + " AND "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + ((unique) ? " AND NON_UNIQUE = 0" : "")
-            + " ORDER BY NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION";
+  private String indexInfoQuery(String catalog, String table, boolean unique) {
+    return indexInfoQuery(
+        catalog,
+        "TABLE_NAME = " + escapeQuote(table) + " AND ",
+        unique,
+        "NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION");
+  }
 
-    return executeQuery(sql);
+  private String indexInfoQuery(
+      String catalog, String tableCondition, boolean unique, String orderBy) {
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
+        + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, 3 TYPE,"
+        + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
+        + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
+        + " FROM INFORMATION_SCHEMA.STATISTICS"
+        + " WHERE "
+        + tableCondition
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + ((unique) ? " AND NON_UNIQUE = 0" : "")
+        + " ORDER BY "
+        + orderBy;
+  }
+
+  /**
+   * Retrieves columns, primary keys and indexes of a set of tables, or of all tables of a catalog,
+   * using one query for each kind of metadata in place of one query per table.
+   *
+   * <p>When metadata cache is enabled (option "metadataCacheTtl"), results are split by table into
+   * the cache, so subsequent {@link #getColumns} (without column pattern), {@link #getPrimaryKeys}
+   * and {@link #getIndexInfo} calls for those tables don't query the server.
+   *
+   * @param catalog a catalog name, with same meaning than for {@link #getColumns}
+   * @param tableNames table names or patterns, with same meaning than for {@link #getColumns}.
+   *     <code>null</code> retrieves all tables of catalog
+   * @return columns, primary keys and indexes of tables, ordered by table
+   * @throws SQLException if a database access error occurs
+   */
+  public TablesMetadata getTablesMetadata(String catalog, String[] tableNames)
+      throws SQLException {
+    MetadataCache cache = connection.getMetadataCache();
+    String database = connection.getProtocol().getDatabase();
+    long generation = cache == null ? 0 : cache.getGeneration();
+
+    SelectResultSet columns;
+    String columnsCondition = " AND " + tablesCond("TABLE_NAME", tableNames, true);
+    try {
+      columns = executeUncachedQuery(columnsQuery(catalog, columnsCondition));
+    } catch (SQLException sqlException) {
+      if (!sqlException.getMessage().contains("Unknown column 'DATETIME_PRECISION'")) {
+        throw sqlException;
+      }
+      datePrecisionColumnExist = false;
+      columns = executeUncachedQuery(columnsQuery(catalog, columnsCondition));
+    }
+    SelectResultSet primaryKeys =
+        executeUncachedQuery(
+            primaryKeysQuery(
+                catalog,
+                " AND "
+                    + tablesCond("A.TABLE_NAME", tableNames, true)
+                    + " AND "
+                    + tablesCond("B.TABLE_NAME", tableNames, true),
+                "A.TABLE_NAME, A.COLUMN_NAME"));
+    SelectResultSet indexes =
+        executeUncachedQuery(
+            indexInfoQuery(
+                catalog,
+                tablesCond("TABLE_NAME", tableNames, false) + " AND ",
+                false,
+                "TABLE_NAME, NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION"));
+
+    Map<String, TableRows> columnRows = splitByTable(columns, false);
+    Map<String, TableRows> primaryKeyRows = splitByTable(primaryKeys, false);
+    Map<String, TableRows> indexRows = splitByTable(indexes, true);
+
+    if (cache != null) {
+      Set<String> tables = new LinkedHashSet<>();
+      if (tableNames != null) {
+        tables.addAll(Arrays.asList(tableNames));
+      } else {
+        for (TableRows tableRows : columnRows.values()) {
+          tables.add(tableRows.table);
+        }
+      }
+
+      for (String table : tables) {
+        List<byte[]> rows = rowsForTable(columnRows, table, true, false, false);
+        if (rows != null) {
+          cache.put(
+              database,
+              columnsQuery(catalog, patternCond("TABLE_NAME", table)),
+              generation,
+              columns.getColumnsInformation(),
+              rows);
+        }
+        rows = rowsForTable(primaryKeyRows, table, true, true, false);
+        if (rows != null) {
+          cache.put(
+              database,
+              primaryKeysQuery(catalog, table),
+              generation,
+              primaryKeys.getColumnsInformation(),
+              rows);
+        }
+        for (boolean unique : new boolean[] {false, true}) {
+          rows = rowsForTable(indexRows, table, false, true, unique);
+          if (rows != null) {
+            cache.put(
+                database,
+                indexInfoQuery(catalog, table, unique),
+                generation,
+                indexes.getColumnsInformation(),
+                rows);
+          }
+        }
+      }
+    }
+
+    return new TablesMetadata(
+        resultSet(columns, columnRows),
+        resultSet(primaryKeys, primaryKeyRows),
+        resultSet(indexes, indexRows));
+  }
+
+  // Helper to generate information schema condition on a list of table names or patterns
+  private String tablesCond(String columnName, String[] tableNames, boolean pattern) {
+    if (tableNames == null) {
+      return "1 = 1";
+    }
+    if (tableNames.length == 0) {
+      return "1 = 0";
+    }
+    StringBuilder sb = new StringBuilder("(");
+    for (int i = 0; i < tableNames.length; i++) {
+      if (i > 0) {
+        sb.append(" OR ");
+      }
+      sb.append(columnName)
+          .append(pattern && isPattern(tableNames[i]) ? " LIKE " : " = ")
+          .append(escapeQuote(tableNames[i]));
+    }
+    return sb.append(")").toString();
+  }
+
+  private static boolean isPattern(String tableName) {
+    return tableName.indexOf('%') != -1 || tableName.indexOf('_') != -1;
+  }
+
+  private static Map<String, TableRows> splitByTable(SelectResultSet rs, boolean index)
+      throws SQLException {
+    Map<String, TableRows> tables = new LinkedHashMap<>();
+    List<byte[]> rows = rs.getLoadedRows();
+    for (int i = 0; rs.next(); i++) {
+      final String table = rs.getString("TABLE_NAME");
+      TableRows tableRows =
+          tables.computeIfAbsent(
+              rs.getString("TABLE_CAT") + '\0' + table, key -> new TableRows(table));
+      tableRows.rows.add(rows.get(i));
+      if (index && rs.getInt("NON_UNIQUE") == 0) {
+        tableRows.uniqueRows.add(rows.get(i));
+      }
+    }
+    return tables;
+  }
+
+  /**
+   * Get rows the standard metadata query of a table would return, from rows grouped by table.
+   *
+   * @param tables rows grouped by table, in query order
+   * @param table table name, as given to standard metadata method
+   * @param pattern is table name handled as a pattern by standard metadata query
+   * @param ordered are rows of standard metadata query only ordered within a table
+   * @param unique only retrieve rows of unique indexes
+   * @return rows, or null if rows of different tables would have to be merged
+   */
+  private static List<byte[]> rowsForTable(
+      Map<String, TableRows> tables,
+      String table,
+      boolean pattern,
+      boolean ordered,
+      boolean unique) {
+    List<byte[]> rows = new ArrayList<>();
+    boolean found = false;
+    for (TableRows tableRows : tables.values()) {
+      boolean match =
+          pattern && isPattern(table)
+              ? likeMatches(table, 0, tableRows.table, 0)
+              : table.equalsIgnoreCase(tableRows.table);
+      if (match) {
+        if (found && ordered) {
+          return null;
+        }
+        found = true;
+        rows.addAll(unique ? tableRows.uniqueRows : tableRows.rows);
+      }
+    }
+    return rows;
+  }
+
+  // Case insensitive LIKE matching, like information schema collation
+  private static boolean likeMatches(String pattern, int patternPos, String value, int valuePos) {
+    while (patternPos < pattern.length()) {
+      char ch = pattern.charAt(patternPos);
+      if (ch == '%') {
+        for (int i = valuePos; i <= value.length(); i++) {
+          if (likeMatches(pattern, patternPos + 1, value, i)) {
+            return true;
+          }
+        }
+        return false;
+      }
+      if (valuePos >= value.length()) {
+        return false;
+      }
+      if (ch == '\\' && patternPos + 1 < pattern.length()) {
+        ch = pattern.charAt(++patternPos);
+      } else if (ch == '_') {
+        patternPos++;
+        valuePos++;
+        continue;
+      }
+      if (Character.toLowerCase(ch) != Character.toLowerCase(value.charAt(valuePos))) {
+        return false;
+      }
+      patternPos++;
+      valuePos++;
+    }
+    return valuePos == value.length();
+  }
+
+  private SelectResultSet resultSet(SelectResultSet rs, Map<String, TableRows> tables) {
+    List<byte[]> rows = new ArrayList<>();
+    for (TableRows tableRows : tables.values()) {
+      rows.addAll(tableRows.rows);
+    }
+    SelectResultSet resultSet =
+        new SelectResultSet(
+            rs.getColumnsInformation(),
+            rows,
+            connection.getProtocol(),
+            ResultSet.TYPE_FORWARD_ONLY);
+    resultSet.setForceTableAlias();
+    return resultSet;
   }
 
   /**
@@ -3907,4 +4185,54 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public boolean supportsRefCursors() {
     return false;
   }
+
+  /** Columns, primary keys and indexes of a set of tables. */
+  public static final class TablesMetadata {
+    private final ResultSet columns;
+    private final ResultSet primaryKeys;
+    private final ResultSet indexInfo;
+
+    private TablesMetadata(ResultSet columns, ResultSet primaryKeys, ResultSet indexInfo) {
+      this.columns = columns;
+      this.primaryKeys = primaryKeys;
+      this.indexInfo = indexInfo;
+    }
+
+    /**
+     * Get columns, with {@link #getColumns} format.
+     *
+     * @return columns result-set
+     */
+    public ResultSet getColumns() {
+      return columns;
+    }
+
+    /**
+     * Get primary key columns, with {@link #getPrimaryKeys} format.
+     *
+     * @return primary keys result-set
+     */
+    public ResultSet getPrimaryKeys() {
+      return primaryKeys;
+    }
+
+    /**
+     * Get indexes, with {@link #getIndexInfo} format.
+     *
+     * @return indexes result-set
+     */
+    public ResultSet getIndexInfo() {
+      return indexInfo;
+    }
+  }
+
+  private static final class TableRows {
+    private final String table;
+    private final List<byte[]> rows = new ArrayList<>();
+    private final List<byte[]> uniqueRows = new ArrayList<>();
+
+    private TableRows(String table) {
+      this.table = table;
+    }
+  }
 }
@@ -56,21 +56,23 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.mariadb.jdbc.internal.com.read.dao.CmdInformationSingle;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.ResultCache;
 import org.mariadb.jdbc.internal.util.Utils;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+import org.mariadb.jdbc.internal.util.scheduler.TimeoutWheel;
 import org.mariadb.jdbc.util.Options;
 
 public class MariaDbStatement implements Statement, Cloneable {
@@ -111,14 +113,15 @@ public class MariaDbStatement implements Statement, Cloneable {
   protected int fetchSize;
   protected volatile boolean executing;
   protected ExceptionFactory exceptionFactory;
-  private ScheduledExecutorService timeoutScheduler;
   // are warnings cleared?
   private boolean warningsCleared;
   private boolean mustCloseOnCompletion = false;
   private List<String> batchQueries;
-  private Future<?> timerTaskFuture;
+  private TimeoutWheel.Handle timeoutHandle;
+  private volatile boolean batchTimeout;
   private boolean isTimedout;
   private int maxFieldSize;
+  private boolean resultCacheable;
 
   /**
    * Creates a new Statement.
@@ -158,7 +161,7 @@ public class MariaDbStatement implements Statement, Cloneable {
     MariaDbStatement clone = (MariaDbStatement) super.clone();
     clone.connection = connection;
     clone.protocol = connection.getProtocol();
-    clone.timerTaskFuture = null;
+    clone.timeoutHandle = null;
     clone.batchQueries = new ArrayList<>();
     clone.closed = false;
     clone.warningsCleared = true;
@@ -172,25 +175,25 @@ public class MariaDbStatement implements Statement, Cloneable {
 
   // Part of query prolog - setup timeout timer
   protected void setTimerTask(boolean isBatch) {
-    assert (timerTaskFuture == null);
-    if (timeoutScheduler == null) {
-      timeoutScheduler = SchedulerServiceProviderHolder.getTimeoutScheduler();
+    if (timeoutHandle == null || timeoutHandle.isClosed()) {
+      // handle is reused for each execution
+      timeoutHandle =
+          SchedulerServiceProviderHolder.getTimeoutWheel().newHandle(this::queryTimedOut);
+    }
+    batchTimeout = isBatch;
+    timeoutHandle.schedule(queryTimeout, TimeUnit.SECONDS);
+  }
+
+  private void queryTimedOut() {
+    try {
+      isTimedout = true;
+      if (!batchTimeout) {
+        protocol.cancelCurrentQuery();
+      }
+      protocol.interrupt();
+    } catch (Throwable e) {
+      // eat
     }
-    timerTaskFuture =
-        timeoutScheduler.schedule(
-            () -> {
-              try {
-                isTimedout = true;
-                if (!isBatch) {
-                  protocol.cancelCurrentQuery();
-                }
-                protocol.interrupt();
-              } catch (Throwable e) {
-                // eat
-              }
-            },
-            queryTimeout,
-            TimeUnit.SECONDS);
   }
 
   /**
@@ -218,22 +221,10 @@ public class MariaDbStatement implements Statement, Cloneable {
   }
 
   private void stopTimeoutTask() {
-    if (timerTaskFuture != null) {
-      if (!timerTaskFuture.cancel(true)) {
-        // could not cancel, task either started or already finished
-        // we must now wait for task to finish to ensure state modifications are done
-        try {
-          timerTaskFuture.get();
-        } catch (InterruptedException e) {
-          // reset interrupt status
-          Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-          // ignore error, likely due to interrupting during cancel
-        }
-        // we don't catch the exception if already canceled, that would indicate we tried
-        // to cancel in parallel (which this code currently is not designed for)
-      }
-      timerTaskFuture = null;
+    if (timeoutHandle != null) {
+      // if task has already started, wait for task to finish to ensure state modifications are
+      // done
+      timeoutHandle.cancel();
     }
   }
 
@@ -356,6 +347,7 @@ public class MariaDbStatement implements Statement, Cloneable {
       protocol.executeQuery(
           protocol.isMasterConnection(), results, getTimeoutSql(Utils.nativeSql(sql, protocol)));
       results.commandEnd();
+      connection.checkCaches(sql);
       return results.getResultSet() != null;
 
     } catch (SQLException exception) {
@@ -440,10 +432,7 @@ public class MariaDbStatement implements Statement, Cloneable {
   }
 
   private String getTimeoutSql(String sql) {
-    if (queryTimeout != 0 && canUseServerTimeout) {
-      return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR " + sql;
-    }
-    return sql;
+    return canUseServerTimeout ? Utils.timeoutSql(sql, queryTimeout) : sql;
   }
 
   /**
@@ -607,10 +596,94 @@ public class MariaDbStatement implements Statement, Cloneable {
    * @throws SQLException if something went wrong
    */
   public ResultSet executeQuery(String sql) throws SQLException {
-    if (executeInternal(sql, fetchSize, Statement.NO_GENERATED_KEYS)) {
-      return results.getResultSet();
+    return executeCacheableQuery(
+        sql, null, false, () -> executeInternal(sql, fetchSize, Statement.NO_GENERATED_KEYS));
+  }
+
+  /**
+   * Execute a query returning a result-set. If statement results are cacheable, a cached result is
+   * returned without querying server, and query result is cached. Results are neither cached nor
+   * served from cache inside a transaction, since they may include uncommitted changes.
+   *
+   * @param sql query
+   * @param parameters query parameters, or null
+   * @param binaryFormat is query executed using binary protocol
+   * @param execution query execution, returning true if there was a result set
+   * @return result-set
+   * @throws SQLException if query execution fails
+   */
+  protected ResultSet executeCacheableQuery(
+      String sql, ParameterHolder[] parameters, boolean binaryFormat, QueryExecution execution)
+      throws SQLException {
+    ResultCache cache = null;
+    String key = null;
+    if (resultCacheable
+        && fetchSize == 0
+        && resultSetConcurrency == ResultSet.CONCUR_READ_ONLY
+        && !(this instanceof CallableStatement)
+        && protocol.getAutocommit()
+        && !protocol.inTransaction()
+        && Utils.isReadOnlyQuery(sql)
+        && !(options.allowMultiQueries
+            && ClientPrepareResult.isMultiQuery(sql, protocol.noBackslashEscapes()))) {
+      cache = connection.getResultCache();
+      if (cache != null) {
+        key =
+            ResultCache.key(
+                protocol.getDatabase(), maxRows, sql, parameters, binaryFormat, options);
+      }
+    }
+
+    if (key == null) {
+      if (execution.execute()) {
+        return results.getResultSet();
+      }
+      return SelectResultSet.createEmptyResultSet();
+    }
+
+    ResultCache.Entry entry = cache.get(key);
+    if (entry != null) {
+      return cachedResultSet(entry, sql, parameters);
+    }
+
+    long generation = cache.getGeneration();
+    if (!execution.execute()) {
+      return SelectResultSet.createEmptyResultSet();
+    }
+    SelectResultSet rs = results.getResultSet();
+    // multiple results can't be cached
+    if (rs.isFullyLoaded() && results.getCmdInformation() instanceof CmdInformationSingle) {
+      cache.put(key, generation, rs.getColumnsInformation(), rs.getLoadedRows(), binaryFormat);
+    }
+    return rs;
+  }
+
+  private ResultSet cachedResultSet(
+      ResultCache.Entry entry, String sql, ParameterHolder[] parameters) throws SQLException {
+    lock.lock();
+    try {
+      checkClose();
+      results =
+          new Results(
+              this,
+              0,
+              false,
+              1,
+              entry.isBinaryFormat(),
+              resultSetScrollType,
+              resultSetConcurrency,
+              Statement.NO_GENERATED_KEYS,
+              protocol.getAutoIncrementIncrement(),
+              sql,
+              parameters);
+      SelectResultSet rs =
+          new SelectResultSet(entry.getColumns(), entry.getRows(), results, protocol);
+      results.addResultSet(rs, false);
+      results.commandEnd();
+      return rs;
+    } finally {
+      lock.unlock();
     }
-    return SelectResultSet.createEmptyResultSet();
   }
 
   /**
@@ -782,6 +855,8 @@ public class MariaDbStatement implements Statement, Cloneable {
     lock.lock();
     try {
       closed = true;
+      stopTimeoutTask();
+      timeoutHandle = null;
       if (results != null) {
         if (results.getFetchSize() != 0) {
           skipMoreResults();
@@ -1134,6 +1209,32 @@ public class MariaDbStatement implements Statement, Cloneable {
     // not handled
   }
 
+  /**
+   * Indicate if results of this statement can be cached, when connection option "resultCacheTtl"
+   * is set.
+   *
+   * @return true if results are cacheable
+   */
+  public boolean isResultCacheable() {
+    return resultCacheable;
+  }
+
+  /**
+   * Set if results of <code>executeQuery</code> can be served from, and stored in, the result cache
+   * shared by connections with the same configuration, when connection option "resultCacheTtl" is
+   * set. Cached results are invalidated when a connection sharing the cache executes a command
+   * other than a read-only query, but not when data are changed by other clients, so this must only
+   * be used for queries on data that doesn't change during cache TTL, like reference data.
+   *
+   * <p>Only results of read-only queries (SELECT without FOR UPDATE, LOCK IN SHARE MODE or INTO,
+   * SHOW, DESCRIBE, EXPLAIN) without fetch size are cached.
+   *
+   * @param resultCacheable are results cacheable
+   */
+  public void setResultCacheable(boolean resultCacheable) {
+    this.resultCacheable = resultCacheable;
+  }
+
   /**
    * Retrieves the current result as a ResultSet object. This method should be called only once per
    * result.
@@ -1449,8 +1550,25 @@ public class MariaDbStatement implements Statement, Cloneable {
             protocol.getAutoIncrementIncrement(),
             null,
             null);
-    protocol.executeBatchStmt(protocol.isMasterConnection(), results, batchQueries);
-    results.commandEnd();
+    try {
+      // timer handles timeout of the whole batch, server also aborts any query exceeding timeout
+      List<String> queries = batchQueries;
+      if (queryTimeout != 0 && canUseServerTimeout) {
+        queries = new ArrayList<>(batchQueries.size());
+        for (String query : batchQueries) {
+          queries.add(getTimeoutSql(query));
+        }
+      }
+      protocol.executeBatchStmt(protocol.isMasterConnection(), results, queries);
+      results.commandEnd();
+    } finally {
+      // part of batch may have been executed
+      if (connection.hasCaches()) {
+        for (String sql : batchQueries) {
+          connection.checkCaches(sql);
+        }
+      }
+    }
   }
 
   /**
@@ -1543,4 +1661,16 @@ public class MariaDbStatement implements Statement, Cloneable {
           .create("Cannot do an operation on a closed statement");
     }
   }
+
+  /** Query execution, used by {@link #executeCacheableQuery}. */
+  protected interface QueryExecution {
+
+    /**
+     * Execute query.
+     *
+     * @return true if there was a result set
+     * @throws SQLException if query execution fails
+     */
+    boolean execute() throws SQLException;
+  }
 }
@@ -25,10 +25,11 @@ package org.mariadb.jdbc;
 import java.sql.*;
 import java.util.*;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
-import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
+import org.mariadb.jdbc.internal.util.Utils;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 
@@ -44,6 +45,10 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   private Map<Integer, ParameterHolder> currentParameterHolder;
   private List<ParameterHolder[]> queryParameters = new ArrayList<>();
   private boolean mustExecuteOnMaster;
+  // statement prepared with query timeout as max_statement_time
+  private ServerPrepareResult timeoutPrepareResult;
+  private int timeoutPrepareSeconds;
+  private boolean serverTimeoutUnsupported;
 
   /**
    * Constructor for creating Server prepared statement.
@@ -73,7 +78,34 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     this.sql = sql;
     currentParameterHolder = Collections.synchronizedMap(new TreeMap<Integer, ParameterHolder>());
     mustExecuteOnMaster = protocol.isMasterConnection();
-    prepare(this.sql);
+    // callable statements need server parameter information at creation
+    if (options.usePipelinedPrepare
+        && protocol.getProxy() == null
+        && getClass() == ServerSidePreparedStatement.class) {
+      parameterCount =
+          ClientPrepareResult.parameterParts(sql, protocol.noBackslashEscapes()).getParamCount();
+    }
+    // PREPARE is sent with first execution only when client placeholder count is reliable
+    if (parameterCount != questionMarkCount(sql)) {
+      prepare(this.sql);
+    }
+  }
+
+  /**
+   * Count '?' characters in query. When some are in comments, strings or identifiers, server might
+   * not identify placeholders like client parser does.
+   *
+   * @param sql query
+   * @return number of '?' characters
+   */
+  private static int questionMarkCount(String sql) {
+    int count = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
   }
 
   /**
@@ -90,11 +122,14 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     clone.parameterMetaData = parameterMetaData;
     clone.queryParameters = new ArrayList<>();
     clone.mustExecuteOnMaster = mustExecuteOnMaster;
-    // force prepare
-    try {
-      clone.prepare(sql);
-    } catch (SQLException e) {
-      throw new CloneNotSupportedException("PrepareStatement not ");
+    clone.timeoutPrepareResult = null;
+    // force prepare, unless PREPARE is sent with first execution
+    if (serverPrepareResult != null) {
+      try {
+        clone.prepare(sql);
+      } catch (SQLException e) {
+        throw new CloneNotSupportedException("PrepareStatement not ");
+      }
     }
     return clone;
   }
@@ -102,7 +137,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   private void prepare(String sql) throws SQLException {
     try {
       serverPrepareResult = protocol.prepare(sql, mustExecuteOnMaster);
-      setMetaFromResult();
+      setMetaFromResult(serverPrepareResult);
     } catch (SQLException e) {
       try {
         this.close();
@@ -114,12 +149,114 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     }
   }
 
-  private void setMetaFromResult() {
-    parameterCount = serverPrepareResult.getParameters().length;
+  /**
+   * Indicate if query timeout can be set as server max_statement_time, for server to abort
+   * execution exceeding timeout without client timer.
+   *
+   * @return true if statement must be executed prepared with max_statement_time
+   */
+  private boolean useServerTimeout() {
+    return queryTimeout != 0
+        && canUseServerTimeout
+        && !serverTimeoutUnsupported
+        && protocol.getProxy() == null
+        && getClass() == ServerSidePreparedStatement.class;
+  }
+
+  /**
+   * Get statement prepared with query timeout set as server max_statement_time, preparing it if
+   * needed. Used for batches, single executions preparing it with first execution.
+   *
+   * @return statement prepared with timeout, or null if server timeout cannot be used.
+   * @throws SQLException if connection error occur
+   */
+  private ServerPrepareResult getTimeoutPrepareResult() throws SQLException {
+    if (!useServerTimeout()) {
+      return null;
+    }
+
+    if (timeoutPrepareResult != null && timeoutPrepareSeconds != queryTimeout) {
+      releaseTimeoutPrepareResult();
+    }
+
+    if (timeoutPrepareResult == null) {
+      try {
+        timeoutPrepareResult =
+            protocol.prepare(Utils.timeoutSql(sql, queryTimeout), mustExecuteOnMaster);
+        timeoutPrepareSeconds = queryTimeout;
+      } catch (SQLException e) {
+        if (!protocol.isConnected()) {
+          throw e;
+        }
+        // statement cannot be prepared with max_statement_time, timer will be used
+        serverTimeoutUnsupported = true;
+        return null;
+      }
+      if (metadata == null) {
+        setMetaFromResult(timeoutPrepareResult);
+      }
+    }
+    return timeoutPrepareResult;
+  }
+
+  /**
+   * Execute statement prepared with query timeout set as server max_statement_time. On first
+   * execution, PREPARE is sent with EXECUTE, without waiting for PREPARE result.
+   *
+   * @param parameterHolders parameters
+   * @return false if statement cannot be prepared with max_statement_time, and has not been
+   *     executed
+   * @throws SQLException if execution fails
+   */
+  private boolean executeServerTimeout(ParameterHolder[] parameterHolders) throws SQLException {
+    if (timeoutPrepareResult != null && timeoutPrepareSeconds != queryTimeout) {
+      releaseTimeoutPrepareResult();
+    }
+
+    if (timeoutPrepareResult != null) {
+      timeoutPrepareResult.resetParameterTypeHeader();
+      protocol.executePreparedQuery(
+          mustExecuteOnMaster, timeoutPrepareResult, results, parameterHolders);
+      return true;
+    }
+
+    try {
+      timeoutPrepareResult =
+          protocol.prepareAndExecute(
+              mustExecuteOnMaster, Utils.timeoutSql(sql, queryTimeout), results, parameterHolders);
+      timeoutPrepareSeconds = queryTimeout;
+    } catch (SQLException e) {
+      // prepare result is set in results once statement is prepared: error is an execution error
+      if (results.getPrepareResult() != null
+          || !protocol.isConnected()
+          || "07004".equals(e.getSQLState())) {
+        throw e;
+      }
+      // statement cannot be prepared with max_statement_time, timer will be used
+      serverTimeoutUnsupported = true;
+      return false;
+    }
+    if (metadata == null) {
+      setMetaFromResult(timeoutPrepareResult);
+    }
+    return true;
+  }
+
+  private void releaseTimeoutPrepareResult() {
+    try {
+      timeoutPrepareResult.getUnProxiedProtocol().releasePrepareStatement(timeoutPrepareResult);
+    } catch (SQLException e) {
+      // eat exception
+    }
+    timeoutPrepareResult = null;
+  }
+
+  private void setMetaFromResult(ServerPrepareResult prepareResult) {
+    parameterCount = prepareResult.getParameters().length;
     metadata =
         new MariaDbResultSetMetaData(
-            serverPrepareResult.getColumns(), protocol.getUrlParser().getOptions(), false);
-    parameterMetaData = new MariaDbParameterMetaData(serverPrepareResult.getParameters());
+            prepareResult.getColumns(), protocol.getUrlParser().getOptions(), false);
+    parameterMetaData = new MariaDbParameterMetaData(prepareResult.getParameters());
   }
 
   public void setParameter(final int parameterIndex, final ParameterHolder holder)
@@ -153,14 +290,39 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
 
   @Override
   public ParameterMetaData getParameterMetaData() throws SQLException {
+    ensureMetadata();
     return parameterMetaData;
   }
 
   @Override
   public ResultSetMetaData getMetaData() throws SQLException {
+    ensureMetadata();
     return metadata;
   }
 
+  /**
+   * Prepare statement if PREPARE has not been sent yet (option usePipelinedPrepare), and metadata
+   * are not known from statement prepared with max_statement_time.
+   *
+   * @throws SQLException if prepare fails
+   */
+  private void ensureMetadata() throws SQLException {
+    if (metadata == null && !closed) {
+      prepare(sql);
+    }
+  }
+
+  /**
+   * Prepare statement if PREPARE has not been sent yet (option usePipelinedPrepare).
+   *
+   * @throws SQLException if prepare fails
+   */
+  private void ensurePrepared() throws SQLException {
+    if (serverPrepareResult == null && !closed) {
+      prepare(sql);
+    }
+  }
+
   /**
    * Submits a batch of send to the database for execution and if all send execute successfully,
    * returns an array of update counts. The <code>int</code> elements of the array that is returned
@@ -230,6 +392,10 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   }
 
   private void executeBatchInternal(int queryParameterSize) throws SQLException {
+    // statement prepared with max_statement_time is used in place of plain statement if possible
+    if (!useServerTimeout()) {
+      ensurePrepared();
+    }
     lock.lock();
     executing = true;
     try {
@@ -238,6 +404,17 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
         setTimerTask(true);
       }
 
+      // timer handles timeout of the whole batch, server also aborts any execution exceeding
+      // timeout when statement can be prepared with max_statement_time.
+      ServerPrepareResult batchPrepareResult = getTimeoutPrepareResult();
+      String batchSql = sql;
+      if (batchPrepareResult != null) {
+        batchSql = Utils.timeoutSql(sql, queryTimeout);
+      } else {
+        ensurePrepared();
+        batchPrepareResult = serverPrepareResult;
+      }
+
       results =
           new Results(
               this,
@@ -256,13 +433,13 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
       if ((options.useBatchMultiSend || options.useBulkStmts)
           && (protocol.executeBatchServer(
               mustExecuteOnMaster,
-              serverPrepareResult,
+              batchPrepareResult,
               results,
-              sql,
+              batchSql,
               queryParameters,
               hasLongData))) {
         if (metadata == null) {
-          setMetaFromResult(); // first prepare
+          setMetaFromResult(batchPrepareResult); // first prepare
         }
         results.commandEnd();
         return;
@@ -275,9 +452,9 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
           ParameterHolder[] parameterHolder = queryParameters.get(counter);
           try {
             protocol.stopIfInterrupted();
-            serverPrepareResult.resetParameterTypeHeader();
+            batchPrepareResult.resetParameterTypeHeader();
             protocol.executePreparedQuery(
-                mustExecuteOnMaster, serverPrepareResult, results, parameterHolder);
+                mustExecuteOnMaster, batchPrepareResult, results, parameterHolder);
           } catch (SQLException queryException) {
             if (options.continueBatchOnError
                 && protocol.isConnected()
@@ -294,9 +471,9 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
         for (int counter = 0; counter < queryParameterSize; counter++) {
           ParameterHolder[] parameterHolder = queryParameters.get(counter);
           try {
-            serverPrepareResult.resetParameterTypeHeader();
+            batchPrepareResult.resetParameterTypeHeader();
             protocol.executePreparedQuery(
-                mustExecuteOnMaster, serverPrepareResult, results, parameterHolder);
+                mustExecuteOnMaster, batchPrepareResult, results, parameterHolder);
           } catch (SQLException queryException) {
             if (options.continueBatchOnError) {
               if (exception == null) {
@@ -316,6 +493,8 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     } catch (SQLException initialSqlEx) {
       throw executeBatchExceptionEpilogue(initialSqlEx, queryParameterSize);
     } finally {
+      // part of batch may have been executed
+      connection.checkCaches(sql);
       executeBatchEpilogue();
       lock.unlock();
     }
@@ -335,10 +514,11 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
 
   @Override
   public ResultSet executeQuery() throws SQLException {
-    if (execute()) {
-      return results.getResultSet();
-    }
-    return SelectResultSet.createEmptyResultSet();
+    return executeCacheableQuery(
+        sql,
+        currentParameterHolder.values().toArray(new ParameterHolder[0]),
+        true,
+        this::execute);
   }
 
   /**
@@ -387,9 +567,6 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     lock.lock();
     try {
       executeQueryPrologue(serverPrepareResult);
-      if (queryTimeout != 0) {
-        setTimerTask(false);
-      }
 
       ParameterHolder[] parameterHolders =
           currentParameterHolder.values().toArray(new ParameterHolder[0]);
@@ -408,11 +585,26 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
               sql,
               parameterHolders);
 
-      serverPrepareResult.resetParameterTypeHeader();
-      protocol.executePreparedQuery(
-          mustExecuteOnMaster, serverPrepareResult, results, parameterHolders);
+      // server aborts execution using max_statement_time if possible, no timer needed then
+      if (!useServerTimeout() || !executeServerTimeout(parameterHolders)) {
+        if (queryTimeout != 0) {
+          setTimerTask(false);
+        }
+
+        if (serverPrepareResult == null) {
+          // send PREPARE and EXECUTE in a row
+          serverPrepareResult =
+              protocol.prepareAndExecute(mustExecuteOnMaster, sql, results, parameterHolders);
+          setMetaFromResult(serverPrepareResult);
+        } else {
+          serverPrepareResult.resetParameterTypeHeader();
+          protocol.executePreparedQuery(
+              mustExecuteOnMaster, serverPrepareResult, results, parameterHolders);
+        }
+      }
 
       results.commandEnd();
+      connection.checkCaches(sql);
       return results.getResultSet() != null;
 
     } catch (SQLException exception) {
@@ -458,6 +650,9 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
           // if (log.isDebugEnabled()) log.debug("Error releasing preparedStatement", e);
         }
       }
+      if (protocol != null && timeoutPrepareResult != null) {
+        releaseTimeoutPrepareResult();
+      }
 
       protocol = null;
       if (connection == null
@@ -482,7 +677,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
    * @return String representation
    */
   public String toString() {
-    StringBuilder sb = new StringBuilder("sql : '" + serverPrepareResult.getSql() + "'");
+    StringBuilder sb = new StringBuilder("sql : '" + sql + "'");
     if (parameterCount > 0) {
       sb.append(", parameters : [");
       for (int i = 0; i < parameterCount; i++) {
@@ -507,6 +702,9 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
    * @return current connection thread id.
    */
   public long getServerThreadId() {
+    if (serverPrepareResult == null) {
+      return protocol != null ? protocol.getServerThreadId() : -1;
+    }
     return serverPrepareResult.getUnProxiedProtocol().getServerThreadId();
   }
 }
@@ -89,4 +89,6 @@ public class MariaDbServerCapabilities {
       1L << 32; /* Client support progress indicator (since 10.2) */
   public static final long MARIADB_CLIENT_COM_MULTI =
       1L << 33; /* bundle command during connection */
+  public static final long MARIADB_CLIENT_CACHE_METADATA =
+      1L << 36; /* permit skipping result-set metadata when executing prepared statements */
 }
@@ -73,6 +73,7 @@ public class Packet {
   public static final byte COM_STMT_FETCH = (byte) 0x1c;
   public static final byte COM_STMT_SEND_LONG_DATA = (byte) 0x18;
   public static final byte COM_STMT_CLOSE = (byte) 0x19;
+  public static final byte COM_STMT_RESET = (byte) 0x1a;
   public static final byte COM_RESET_CONNECTION = (byte) 0x1f;
   public static final byte COM_STMT_BULK_EXECUTE = (byte) 0xfa;
   public static final byte COM_MULTI = (byte) 0xfe;
@@ -83,4 +84,7 @@ public class Packet {
   public static final byte CURSOR_TYPE_FOR_UPDATE = (byte) 0x02;
   public static final byte CURSOR_TYPE_SCROLLABLE =
       (byte) 0x04; // reserved, but not implemented server side
+
+  // statement id referencing the last prepared statement (MariaDB 10.2+)
+  public static final int LAST_STATEMENT_ID = -1;
 }
@@ -61,6 +61,7 @@ import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 
 public class Results {
@@ -82,6 +83,8 @@ public class Results {
   private boolean rewritten;
   private String sql;
   private ParameterHolder[] parameters;
+  private ServerPrepareResult cursorPrepareResult;
+  private ServerPrepareResult prepareResult;
 
   /**
    * Single Text query. /! use internally, because autoincrement value is not right for
@@ -413,6 +416,34 @@ public class Results {
     return parameters;
   }
 
+  /**
+   * Server-prepared statement executed with a cursor, if any : result-set will then fetch rows by
+   * batch using COM_STMT_FETCH.
+   *
+   * @return statement executed with a cursor, or null
+   */
+  public ServerPrepareResult getCursorPrepareResult() {
+    return cursorPrepareResult;
+  }
+
+  public void setCursorPrepareResult(ServerPrepareResult cursorPrepareResult) {
+    this.cursorPrepareResult = cursorPrepareResult;
+  }
+
+  /**
+   * Prepared statement executed, if any : its columns are used when server doesn't send column
+   * definitions again (MARIADB_CLIENT_CACHE_METADATA).
+   *
+   * @return executed prepared statement, or null
+   */
+  public ServerPrepareResult getPrepareResult() {
+    return prepareResult;
+  }
+
+  public void setPrepareResult(ServerPrepareResult prepareResult) {
+    this.prepareResult = prepareResult;
+  }
+
   /**
    * Send a resultSet that contain auto generated keys. 2 differences :
    *
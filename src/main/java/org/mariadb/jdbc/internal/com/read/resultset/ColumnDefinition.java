@@ -101,6 +101,8 @@ public class ColumnDefinition {
   };
 
   private final Buffer buffer;
+  // catalog, schema, table, org_table, name and org_name, decoded on first use
+  private final String[] strings;
   private final short charsetNumber;
   private final long length;
   private final ColumnType type;
@@ -114,6 +116,7 @@ public class ColumnDefinition {
    */
   public ColumnDefinition(ColumnDefinition other) {
     this.buffer = other.buffer;
+    this.strings = other.strings;
     this.charsetNumber = other.charsetNumber;
     this.length = other.length;
     this.type = other.type;
@@ -128,6 +131,7 @@ public class ColumnDefinition {
    */
   public ColumnDefinition(Buffer buffer) {
     this.buffer = buffer;
+    this.strings = new String[6];
 
     /*
     lenenc_str     catalog
@@ -220,11 +224,18 @@ public class ColumnDefinition {
   }
 
   private String getString(int idx) {
-    buffer.position = 0;
-    for (int i = 0; i < idx; i++) {
-      buffer.skipLengthEncodedBytes();
+    String value = strings[idx];
+    if (value == null) {
+      // read with its own position, since column definitions can be shared by result-sets of
+      // different threads. Concurrent decoding only results in identical strings.
+      Buffer packet = new Buffer(buffer.buf, buffer.limit);
+      for (int i = 0; i < idx; i++) {
+        packet.skipLengthEncodedBytes();
+      }
+      value = packet.readStringLengthEncoded(StandardCharsets.UTF_8);
+      strings[idx] = value;
     }
-    return buffer.readStringLengthEncoded(StandardCharsets.UTF_8);
+    return value;
   }
 
   public String getDatabase() {
@@ -0,0 +1,172 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream.PacketStream;
+
+/**
+ * Last column value of a streamed row, read directly from socket. Value is only available until
+ * result-set reads next row.
+ */
+public class LobStream extends InputStream {
+
+  private final PacketStream stream;
+  private final long length;
+  private long remaining;
+  private boolean used;
+  private boolean released;
+
+  /**
+   * Constructor.
+   *
+   * @param stream row packet stream, positioned at value start
+   * @param length value length
+   */
+  public LobStream(PacketStream stream, long length) {
+    this.stream = stream;
+    this.length = length;
+    this.remaining = length;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Indicate if stream has been given to application.
+   *
+   * @return true if stream has been given to application
+   */
+  public boolean isUsed() {
+    return used;
+  }
+
+  /**
+   * Give stream to application.
+   *
+   * @return this stream
+   */
+  public InputStream use() {
+    used = true;
+    return this;
+  }
+
+  private void checkReleased() throws IOException {
+    if (released) {
+      throw new IOException("Streamed value is not available anymore : result-set read next row");
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    checkReleased();
+    if (remaining == 0) {
+      return -1;
+    }
+    int value = stream.read();
+    if (value < 0) {
+      throw new EOFException("unexpected end of packet");
+    }
+    remaining--;
+    return value;
+  }
+
+  @Override
+  public int read(byte[] bytes, int off, int len) throws IOException {
+    checkReleased();
+    if (len == 0) {
+      return 0;
+    }
+    if (remaining == 0) {
+      return -1;
+    }
+    int count = stream.read(bytes, off, (int) Math.min(len, remaining));
+    if (count < 0) {
+      throw new EOFException("unexpected end of packet");
+    }
+    remaining -= count;
+    return count;
+  }
+
+  /**
+   * Read whole value, appended to row data preceding it.
+   *
+   * @param rowPrefix row data preceding value
+   * @return complete row data
+   * @throws IOException if socket exception occur
+   */
+  public byte[] readRow(byte[] rowPrefix) throws IOException {
+    checkReleased();
+    byte[] row = Arrays.copyOf(rowPrefix, rowPrefix.length + (int) remaining);
+    stream.readFully(row, rowPrefix.length, (int) remaining);
+    remaining = 0;
+    release();
+    return row;
+  }
+
+  /**
+   * Skip remaining value data, making socket ready to read next packet.
+   *
+   * @throws IOException if socket exception occur
+   */
+  public void release() throws IOException {
+    if (!released) {
+      released = true;
+      stream.skipRemaining();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.mariadb.jdbc.RowMapper;
+import org.mariadb.jdbc.RowMappingException;
+
+/**
+ * Spliterator on a range of rows of a loaded result-set. Each part decodes rows with its own
+ * result-set view, so parts can be mapped in parallel.
+ *
+ * @param <T> mapped row type
+ */
+class RowSpliterator<T> implements Spliterator<T> {
+
+  private static final int MIN_SPLIT_SIZE = 256;
+
+  private final SelectResultSet resultSet;
+  private final RowMapper<T> mapper;
+  private final int end;
+  private int index;
+  private SelectResultSet view;
+
+  /**
+   * Constructor.
+   *
+   * @param resultSet loaded result-set
+   * @param mapper row mapper
+   * @param index first row index
+   * @param end row index after last row
+   */
+  RowSpliterator(SelectResultSet resultSet, RowMapper<T> mapper, int index, int end) {
+    this.resultSet = resultSet;
+    this.mapper = mapper;
+    this.index = index;
+    this.end = end;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (index >= end) {
+      return false;
+    }
+    if (view == null) {
+      view = resultSet.rangeView(index, end);
+    }
+    T value;
+    try {
+      view.next();
+      value = mapper.map(view);
+    } catch (SQLException sqle) {
+      throw new RowMappingException(sqle);
+    }
+    index++;
+    action.accept(value);
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (view != null || end - index < 2 * MIN_SPLIT_SIZE) {
+      return null;
+    }
+    int middle = (index + end) >>> 1;
+    Spliterator<T> prefix = new RowSpliterator<>(resultSet, mapper, index, middle);
+    index = middle;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return end - index;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+  }
+}
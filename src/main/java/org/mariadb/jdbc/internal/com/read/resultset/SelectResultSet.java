@@ -24,6 +24,8 @@ package org.mariadb.jdbc.internal.com.read.resultset;
 
 import static org.mariadb.jdbc.internal.com.Packet.EOF;
 import static org.mariadb.jdbc.internal.com.Packet.ERROR;
+import static org.mariadb.jdbc.internal.util.constant.ServerStatus.CURSOR_EXISTS;
+import static org.mariadb.jdbc.internal.util.constant.ServerStatus.LAST_ROW_SENT;
 import static org.mariadb.jdbc.internal.util.constant.ServerStatus.MORE_RESULTS_EXISTS;
 import static org.mariadb.jdbc.internal.util.constant.ServerStatus.PS_OUT_PARAMETERS;
 
@@ -37,11 +39,17 @@ import java.sql.*;
 import java.sql.Date;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.mariadb.jdbc.MariaDbBlob;
 import org.mariadb.jdbc.MariaDbClob;
 import org.mariadb.jdbc.MariaDbResultSetMetaData;
 import org.mariadb.jdbc.MariaDbStatement;
+import org.mariadb.jdbc.RowMapper;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.com.read.ErrorPacket;
@@ -52,8 +60,11 @@ import org.mariadb.jdbc.internal.com.read.resultset.rowprotocol.RowProtocol;
 import org.mariadb.jdbc.internal.com.read.resultset.rowprotocol.TextRowProtocol;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
 import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream;
+import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream.PacketStream;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 import org.mariadb.jdbc.util.Options;
 
 @SuppressWarnings({
@@ -71,6 +82,7 @@ public class SelectResultSet implements ResultSet {
   private static final ColumnDefinition[] INSERT_ID_COLUMNS;
 
   private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+  private static final int LOB_STREAMING_THRESHOLD = 1024 * 1024;
 
   static {
     INSERT_ID_COLUMNS = new ColumnDefinition[1];
@@ -101,6 +113,16 @@ public class SelectResultSet implements ResultSet {
   private boolean eofDeprecated;
   private ReentrantLock lock;
   private boolean forceAlias;
+  private boolean binaryFormat;
+  private boolean lobStreaming;
+  private LobStream lobStream;
+  private int lobRowIndex;
+  private ServerPrepareResult cursorPrepareResult;
+  private boolean cursorOpen;
+  private long readRowBytes;
+  private long readRows;
+  private boolean prefetch;
+  private FutureTask<List<byte[]>> prefetchTask;
 
   /**
    * Create Streaming resultSet.
@@ -134,7 +156,8 @@ public class SelectResultSet implements ResultSet {
     this.reader = reader;
     this.isEof = false;
     timeZone = protocol.getTimeZone();
-    if (results.isBinaryFormat()) {
+    this.binaryFormat = results.isBinaryFormat();
+    if (binaryFormat) {
       row =
           new BinaryRowProtocol(
               columnsInformation, columnInformationLength, results.getMaxFieldSize(), options);
@@ -158,8 +181,26 @@ public class SelectResultSet implements ResultSet {
       protocol.setActiveStreamingResult(results);
       protocol.removeHasMoreResults();
       data = new byte[Math.max(10, fetchSize)][];
-      nextStreamingValue();
+      cursorPrepareResult = results.getCursorPrepareResult();
+      lobStreaming =
+          options.useLobStreaming
+              && cursorPrepareResult == null
+              && reader instanceof StandardPacketInputStream
+              && results.getResultSetConcurrency() == CONCUR_READ_ONLY
+              && columnInformationLength > 0
+              && isLob(columnsInformation[columnInformationLength - 1].getColumnType());
+      prefetch = options.useStreamingPrefetch && !lobStreaming && cursorPrepareResult == null;
+      if (cursorPrepareResult != null) {
+        if (eofDeprecated) {
+          // cursor opening is acknowledged by an OK_Packet
+          readNextValue();
+        } else {
+          registerCursor();
+        }
+      }
+      addStreamingValue();
       streaming = true;
+      startPrefetch();
     }
   }
 
@@ -203,6 +244,79 @@ public class SelectResultSet implements ResultSet {
     this.streaming = false;
   }
 
+  /**
+   * Create result-set over cached rows.
+   *
+   * @param columnDefinition column information
+   * @param rows cached rows, that must not be modified
+   * @param results results
+   * @param protocol current protocol
+   */
+  public SelectResultSet(
+      ColumnDefinition[] columnDefinition, List<byte[]> rows, Results results, Protocol protocol) {
+    this.statement = results.getStatement();
+    this.isClosed = false;
+    this.protocol = null;
+    this.options = protocol.getOptions();
+    this.timeZone = protocol.getTimeZone();
+    this.noBackslashEscapes = protocol.noBackslashEscapes();
+    this.columnsInformation = columnDefinition;
+    this.columnLabelIndexer = new ColumnLabelIndexer(columnsInformation);
+    this.columnInformationLength = columnDefinition.length;
+    this.binaryFormat = results.isBinaryFormat();
+    if (binaryFormat) {
+      row =
+          new BinaryRowProtocol(
+              columnsInformation, columnInformationLength, results.getMaxFieldSize(), options);
+    } else {
+      row = new TextRowProtocol(results.getMaxFieldSize(), options);
+    }
+    this.isEof = true;
+    this.fetchSize = 0;
+    this.resultSetScrollType = results.getResultSetScrollType();
+    this.data = rows.toArray(new byte[10][]);
+    this.dataSize = rows.size();
+    this.dataFetchTime = 0;
+    this.rowPointer = -1;
+    this.callableResult = false;
+    this.streaming = false;
+  }
+
+  /**
+   * Create a read-only view of a range of loaded rows, with its own row decoder.
+   *
+   * @param resultSet loaded result-set
+   * @param from first row index
+   * @param to row index after last row
+   */
+  private SelectResultSet(SelectResultSet resultSet, int from, int to) {
+    this.statement = resultSet.statement;
+    this.isClosed = false;
+    this.protocol = null;
+    this.options = resultSet.options;
+    this.timeZone = resultSet.timeZone;
+    this.noBackslashEscapes = resultSet.noBackslashEscapes;
+    this.columnsInformation = resultSet.columnsInformation;
+    this.columnLabelIndexer = new ColumnLabelIndexer(columnsInformation);
+    this.columnInformationLength = resultSet.columnInformationLength;
+    this.forceAlias = resultSet.forceAlias;
+    int maxFieldSize = resultSet.row.getMaxFieldSize();
+    if (resultSet.row instanceof BinaryRowProtocol) {
+      this.row =
+          new BinaryRowProtocol(columnsInformation, columnInformationLength, maxFieldSize, options);
+    } else {
+      this.row = new TextRowProtocol(maxFieldSize, options);
+    }
+    this.isEof = true;
+    this.fetchSize = 0;
+    this.resultSetScrollType = TYPE_FORWARD_ONLY;
+    this.data = resultSet.data;
+    this.dataSize = to;
+    this.rowPointer = from - 1;
+    this.callableResult = false;
+    this.streaming = false;
+  }
+
   /**
    * Create a result set from given data. Useful for creating "fake" resultsets for
    * DatabaseMetaData, (one example is MariaDbDatabaseMetaData.getTypeInfo())
@@ -286,6 +400,49 @@ public class SelectResultSet implements ResultSet {
     return isEof;
   }
 
+  public ColumnDefinition[] getColumnsInformation() {
+    return columnsInformation;
+  }
+
+  /**
+   * Get loaded rows in their raw format. Result-set must be fully loaded.
+   *
+   * @return raw rows
+   */
+  public List<byte[]> getLoadedRows() {
+    return new ArrayList<>(Arrays.asList(data).subList(0, dataSize));
+  }
+
+  /**
+   * Map rows after current cursor position, decoding rows in parallel using fork-join common pool.
+   * Streaming result-set rows are loaded first. Cursor position is not changed, and result-set must
+   * not be modified while stream is used.
+   *
+   * <p>SQLException thrown by mapper are wrapped in RowMappingException.
+   *
+   * @param mapper row mapper, called from multiple threads
+   * @param <T> mapped row type
+   * @return parallel stream of mapped rows, in result-set order
+   * @throws SQLException if result-set is closed, or if loading rows fails
+   */
+  public <T> Stream<T> parallelStream(RowMapper<T> mapper) throws SQLException {
+    checkClose();
+    fetchRemaining();
+    return StreamSupport.stream(
+        new RowSpliterator<>(this, mapper, Math.max(0, rowPointer + 1), dataSize), true);
+  }
+
+  /**
+   * Create a read-only view of a range of loaded rows, positioned before first row.
+   *
+   * @param from first row index
+   * @param to row index after last row
+   * @return view
+   */
+  SelectResultSet rangeView(int from, int to) {
+    return new SelectResultSet(this, from, to);
+  }
+
   private void fetchAllResults() throws IOException, SQLException {
 
     dataSize = 0;
@@ -357,14 +514,122 @@ public class SelectResultSet implements ResultSet {
    * @throws SQLException if server return an unexpected error
    */
   private void addStreamingValue() throws IOException, SQLException {
+    if (cursorOpen) {
+      // fetch next rows from server cursor.
+      // fetch can return no row when previous fetch has returned the last rows.
+      int initialSize = dataSize;
+      while (cursorOpen && dataSize == initialSize) {
+        protocol.fetchCursorRows(cursorPrepareResult, batchFetchSize());
+        while (readNextValue()) {
+          // read all fetched rows
+        }
+      }
+      dataFetchTime++;
+      return;
+    }
+
+    if (prefetchTask != null) {
+      // next rows have been read in background
+      completePrefetch();
+      dataFetchTime++;
+      return;
+    }
+
     // read only fetchSize values
-    int fetchSizeTmp = fetchSize;
+    int fetchSizeTmp = batchFetchSize();
     while (fetchSizeTmp > 0 && readNextValue()) {
       fetchSizeTmp--;
+      if (lobStream != null) {
+        // socket is positioned in current row's last value
+        break;
+      }
     }
     dataFetchTime++;
   }
 
+  /**
+   * Number of rows to read in next batch. When option fetchBatchBytes is set, row number is
+   * adjusted for batch to be about this size, using average size of rows read so far.
+   *
+   * @return number of rows to read
+   */
+  private int batchFetchSize() {
+    if (options.fetchBatchBytes == 0 || readRows == 0) {
+      return fetchSize;
+    }
+    long averageRowSize = Math.max(1, readRowBytes / readRows);
+    return (int) Math.max(1, options.fetchBatchBytes / averageRowSize);
+  }
+
+  /**
+   * Read next batch of rows in background, while current rows are processed, so network and
+   * processing overlap. Only one batch is read in advance.
+   */
+  private void startPrefetch() {
+    if (prefetch && !isEof && prefetchTask == null) {
+      final PacketInputStream in = reader;
+      final int rows = batchFetchSize();
+      FutureTask<List<byte[]>> task = new FutureTask<>(() -> readPackets(in, rows));
+      try {
+        SchedulerServiceProviderHolder.getBulkScheduler().execute(task);
+        prefetchTask = task;
+      } catch (RejectedExecutionException r) {
+        // no thread available : rows will be read when needed
+      }
+    }
+  }
+
+  private List<byte[]> readPackets(PacketInputStream in, int rows) throws IOException {
+    List<byte[]> packets = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      byte[] buf = in.getPacketArray(false);
+      packets.add(buf);
+      if (buf[0] == ERROR || isEofPacket(buf)) {
+        break;
+      }
+    }
+    return packets;
+  }
+
+  /**
+   * Wait for background read to finish, and add read rows to result-set.
+   *
+   * @throws IOException if socket exception occur
+   * @throws SQLException if server return an unexpected error
+   */
+  private void completePrefetch() throws IOException, SQLException {
+    FutureTask<List<byte[]>> task = prefetchTask;
+    prefetchTask = null;
+    List<byte[]> packets;
+    boolean interrupted = false;
+    // executor may have queued task without starting it: read rows in current thread then
+    task.run();
+    try {
+      while (true) {
+        try {
+          packets = task.get();
+          break;
+        } catch (InterruptedException interruptedException) {
+          // socket must be in a known state : wait for read to end
+          interrupted = true;
+        } catch (ExecutionException executionException) {
+          Throwable cause = executionException.getCause();
+          if (cause instanceof IOException) {
+            throw (IOException) cause;
+          }
+          throw new IOException("Error reading rows : " + cause.getMessage(), cause);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    for (byte[] buf : packets) {
+      handlePacket(buf);
+    }
+  }
+
   /**
    * Read next value.
    *
@@ -373,22 +638,43 @@ public class SelectResultSet implements ResultSet {
    * @throws SQLException exception
    */
   private boolean readNextValue() throws IOException, SQLException {
-    byte[] buf = reader.getPacketArray(false);
+    byte[] buf;
+    if (lobStreaming) {
+      releaseLobStream();
+      buf = readStreamingRow();
+    } else {
+      buf = reader.getPacketArray(false);
+    }
+    return handlePacket(buf);
+  }
+
+  private boolean isEofPacket(byte[] buf) {
+    return buf[0] == EOF
+        && ((eofDeprecated && buf.length < 0xffffff) || (!eofDeprecated && buf.length < 8));
+  }
 
+  /**
+   * Handle packet read from socket : add row to result-set, or handle end of result-set.
+   *
+   * @param buf packet
+   * @return true if packet is a row
+   * @throws SQLException if packet is an error
+   */
+  private boolean handlePacket(byte[] buf) throws SQLException {
     // is error Packet
     if (buf[0] == ERROR) {
       protocol.removeActiveStreamingResult();
       protocol.removeHasMoreResults();
       protocol.setHasWarnings(false);
       ErrorPacket errorPacket = new ErrorPacket(new Buffer(buf));
+      unregisterCursor();
       resetVariables();
       throw ExceptionFactory.INSTANCE.create(
           errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
     }
 
     // is end of stream
-    if (buf[0] == EOF
-        && ((eofDeprecated && buf.length < 0xffffff) || (!eofDeprecated && buf.length < 8))) {
+    if (isEofPacket(buf)) {
       int serverStatus;
       int warnings;
 
@@ -424,6 +710,15 @@ public class SelectResultSet implements ResultSet {
         protocol.removeActiveStreamingResult();
       }
 
+      if (cursorPrepareResult != null
+          && (serverStatus & CURSOR_EXISTS) != 0
+          && (serverStatus & LAST_ROW_SENT) == 0) {
+        // end of a cursor fetch, cursor still has rows
+        registerCursor();
+        return false;
+      }
+
+      unregisterCursor();
       resetVariables();
       return false;
     }
@@ -433,9 +728,251 @@ public class SelectResultSet implements ResultSet {
       growDataArray();
     }
     data[dataSize++] = buf;
+    readRowBytes += buf.length;
+    readRows++;
+    if (lobStream != null) {
+      lobRowIndex = dataSize - 1;
+    }
     return true;
   }
 
+  /**
+   * Server has an open cursor for this result-set. Connection is free until next rows are fetched.
+   * Statement is kept allocated until cursor is closed.
+   */
+  private void registerCursor() {
+    if (!cursorOpen) {
+      cursorOpen = true;
+      cursorPrepareResult.incrementShareCounter();
+      cursorPrepareResult.setCursorResultSet(this);
+      protocol.removeActiveStreamingResult();
+    }
+  }
+
+  /**
+   * Server cursor is closed.
+   *
+   * @throws SQLException if statement release fails
+   */
+  private void unregisterCursor() throws SQLException {
+    if (cursorOpen) {
+      cursorOpen = false;
+      cursorPrepareResult.setCursorResultSet(null);
+      protocol.releasePrepareStatement(cursorPrepareResult);
+    }
+  }
+
+  private static boolean isLob(ColumnType columnType) {
+    switch (columnType) {
+      case TINYBLOB:
+      case BLOB:
+      case MEDIUMBLOB:
+      case LONGBLOB:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Read next packet when last column value may be streamed. Packet is read in memory like usual,
+   * except for rows bigger than LOB_STREAMING_THRESHOLD : data are then read until last column
+   * value, and this value is left on socket, to be read with lobStream.
+   *
+   * @return packet data, without last column value if streamed
+   * @throws IOException if socket exception occur
+   */
+  private byte[] readStreamingRow() throws IOException {
+    PacketStream stream = ((StandardPacketInputStream) reader).getPacketStream();
+    int packetLength = stream.getFirstPacketLength();
+    int firstByte = stream.read();
+    if (firstByte < 0) {
+      return new byte[0];
+    }
+
+    if (packetLength < LOB_STREAMING_THRESHOLD
+        || firstByte == (ERROR & 0xff)
+        || (firstByte == (EOF & 0xff) && packetLength < 0xffffff)) {
+      // standard packet
+      byte[] buf = new byte[packetLength];
+      buf[0] = (byte) firstByte;
+      stream.readFully(buf, 1, packetLength - 1);
+      stream.skipRemaining();
+      return buf;
+    }
+
+    byte[] buf = new byte[1024];
+    int pos = 0;
+    int lastIndex = columnInformationLength - 1;
+    int nextByte = firstByte;
+    if (binaryFormat) {
+      // 0x00 header + NULL-Bitmap
+      int headerLength = 1 + (columnInformationLength + 9) / 8;
+      buf[pos++] = (byte) firstByte;
+      stream.readFully(buf, pos, headerLength - 1);
+      pos = headerLength;
+      nextByte = -1;
+    }
+
+    for (int index = 0; index <= lastIndex; index++) {
+      long length;
+      if (binaryFormat) {
+        if ((buf[1 + (index + 2) / 8] & (1 << ((index + 2) % 8))) != 0) {
+          // null value
+          continue;
+        }
+        length = binaryFixedLength(columnsInformation[index].getColumnType());
+      } else {
+        length = -1;
+      }
+
+      if (length < 0) {
+        // length encoded value
+        int type = nextByte >= 0 ? nextByte : stream.read();
+        nextByte = -1;
+        if (type < 0) {
+          throw new EOFException("unexpected end of packet");
+        }
+        buf = ensureCapacity(buf, pos + 9);
+        buf[pos++] = (byte) type;
+        switch (type) {
+          case 251:
+            length = 0;
+            break;
+          case 252:
+            stream.readFully(buf, pos, 2);
+            length = (buf[pos] & 0xff) + ((buf[pos + 1] & 0xff) << 8);
+            pos += 2;
+            break;
+          case 253:
+            stream.readFully(buf, pos, 3);
+            length =
+                (buf[pos] & 0xff) + ((buf[pos + 1] & 0xff) << 8) + ((buf[pos + 2] & 0xff) << 16);
+            pos += 3;
+            break;
+          case 254:
+            stream.readFully(buf, pos, 8);
+            length = 0;
+            for (int i = 7; i >= 0; i--) {
+              length = (length << 8) + (buf[pos + i] & 0xff);
+            }
+            pos += 8;
+            break;
+          default:
+            length = type;
+            break;
+        }
+
+        if (index == lastIndex && length > 0) {
+          lobStream = new LobStream(stream, length);
+          return Arrays.copyOf(buf, pos);
+        }
+      }
+
+      buf = ensureCapacity(buf, pos + (int) length);
+      stream.readFully(buf, pos, (int) length);
+      pos += (int) length;
+    }
+
+    // last value is null or empty
+    stream.skipRemaining();
+    return Arrays.copyOf(buf, pos);
+  }
+
+  private static int binaryFixedLength(ColumnType columnType) {
+    switch (columnType) {
+      case BIGINT:
+      case DOUBLE:
+        return 8;
+      case INTEGER:
+      case MEDIUMINT:
+      case FLOAT:
+        return 4;
+      case SMALLINT:
+      case YEAR:
+        return 2;
+      case TINYINT:
+        return 1;
+      default:
+        return -1;
+    }
+  }
+
+  private static byte[] ensureCapacity(byte[] buf, int capacity) {
+    if (capacity <= buf.length) {
+      return buf;
+    }
+    return Arrays.copyOf(buf, Math.max(capacity, buf.length << 1));
+  }
+
+  /**
+   * Current streamed value is not needed anymore, since result-set will read next row. Value is
+   * loaded in memory if row is still kept in result-set, skipped otherwise.
+   *
+   * @throws IOException if socket exception occur
+   * @throws SQLException if value is too big to be loaded
+   */
+  private void releaseLobStream() throws IOException, SQLException {
+    if (lobStream != null) {
+      LobStream stream = lobStream;
+      lobStream = null;
+      if (lobRowIndex < dataSize && !stream.isUsed()) {
+        loadLobStream(stream);
+      } else {
+        stream.release();
+      }
+    }
+  }
+
+  private void loadLobStream(LobStream stream) throws IOException, SQLException {
+    if (stream.getLength() > MAX_ARRAY_SIZE - data[lobRowIndex].length) {
+      stream.release();
+      throw new SQLException(
+          "Value of length " + stream.getLength() + " is too big to be loaded in memory, use"
+              + " ResultSet.getBinaryStream() or getCharacterStream()",
+          "22000");
+    }
+    data[lobRowIndex] = stream.readRow(data[lobRowIndex]);
+    if (lastRowPointer == lobRowIndex) {
+      lastRowPointer = -1;
+    }
+  }
+
+  /**
+   * Indicate if column value of current row is streamed from socket.
+   *
+   * @param columnIndex column index
+   * @return true if value is streamed
+   */
+  private boolean isStreamedValue(int columnIndex) {
+    return lobStream != null
+        && columnIndex == columnInformationLength
+        && rowPointer == lobRowIndex
+        && !isClosed;
+  }
+
+  /**
+   * Load streamed value of current row in memory.
+   *
+   * @throws SQLException if streamed value has already been given to application
+   */
+  private void loadStreamedValue() throws SQLException {
+    if (lobStream.isUsed()) {
+      throw new SQLException(
+          "Value has already been read as a stream and is not available anymore", "HY000");
+    }
+    lock.lock();
+    try {
+      LobStream stream = lobStream;
+      lobStream = null;
+      loadLobStream(stream);
+    } catch (IOException ioe) {
+      throw handleIoException(ioe);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Get current row's raw bytes.
    *
@@ -526,6 +1063,11 @@ public class SelectResultSet implements ResultSet {
    */
   public void abort() throws SQLException {
     isClosed = true;
+    if (prefetchTask != null) {
+      // connection is being aborted: background read must not outlive result-set
+      prefetchTask.cancel(true);
+      prefetchTask = null;
+    }
     resetVariables();
 
     // keep garbage easy
@@ -545,6 +1087,15 @@ public class SelectResultSet implements ResultSet {
     if (!isEof) {
       lock.lock();
       try {
+        if (cursorOpen) {
+          // close cursor without fetching remaining rows
+          protocol.closeCursor(cursorPrepareResult);
+          unregisterCursor();
+          resetVariables();
+        }
+        if (prefetchTask != null) {
+          completePrefetch();
+        }
         while (!isEof) {
           dataSize = 0; // to avoid storing data
           readNextValue();
@@ -592,6 +1143,7 @@ public class SelectResultSet implements ResultSet {
         try {
           if (!isEof) {
             nextStreamingValue();
+            startPrefetch();
           }
         } catch (IOException ioe) {
           throw handleIoException(ioe);
@@ -630,6 +1182,10 @@ public class SelectResultSet implements ResultSet {
       throw new SQLDataException("No such column: " + position, "22023");
     }
 
+    if (isStreamedValue(position)) {
+      loadStreamedValue();
+    }
+
     if (lastRowPointer != rowPointer) {
       row.resetRow(data[rowPointer]);
       lastRowPointer = rowPointer;
@@ -965,6 +1521,9 @@ public class SelectResultSet implements ResultSet {
 
   /** {inheritDoc}. */
   public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    if (isStreamedValue(columnIndex)) {
+      return lobStream.use();
+    }
     checkObjectRange(columnIndex);
     if (row.lastValueWasNull()) {
       return null;
@@ -1323,6 +1882,9 @@ public class SelectResultSet implements ResultSet {
 
   /** {inheritDoc}. */
   public Reader getCharacterStream(int columnIndex) throws SQLException {
+    if (isStreamedValue(columnIndex)) {
+      return new InputStreamReader(lobStream.use(), StandardCharsets.UTF_8);
+    }
     checkObjectRange(columnIndex);
     String value = row.getInternalString(columnsInformation[columnIndex - 1], null, timeZone);
     if (value == null) {
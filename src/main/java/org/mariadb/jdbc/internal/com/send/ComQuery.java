@@ -111,6 +111,7 @@ public class ComQuery {
    * @param paramCount parameter pos
    * @param parameterList parameter list
    * @param rewriteValues is query rewritable by adding values
+   * @param queryTimeout timeout using max_statement_time, for each query. 0 if none
    * @return current index
    * @throws IOException if connection fail
    */
@@ -120,7 +121,8 @@ public class ComQuery {
       int currentIndex,
       int paramCount,
       List<ParameterHolder[]> parameterList,
-      boolean rewriteValues)
+      boolean rewriteValues,
+      int queryTimeout)
       throws IOException {
     pos.startPacket(0);
     pos.write(Packet.COM_QUERY);
@@ -129,13 +131,18 @@ public class ComQuery {
 
     byte[] firstPart = queryParts.get(0);
     byte[] secondPart = queryParts.get(1);
+    byte[] timeoutPart =
+        queryTimeout > 0
+            ? ("SET STATEMENT max_statement_time=" + queryTimeout + " FOR ").getBytes()
+            : new byte[0];
 
     if (!rewriteValues) {
       // write first
+      pos.write(timeoutPart, 0, timeoutPart.length);
       pos.write(firstPart, 0, firstPart.length);
       pos.write(secondPart, 0, secondPart.length);
 
-      int staticLength = 1;
+      int staticLength = 1 + timeoutPart.length;
       for (byte[] queryPart : queryParts) {
         staticLength += queryPart.length;
       }
@@ -168,6 +175,7 @@ public class ComQuery {
           // - if this query will be separated in a new packet.
           if (pos.checkRemainingSize(staticLength + parameterLength)) {
             pos.write((byte) ';');
+            pos.write(timeoutPart, 0, timeoutPart.length);
             pos.write(firstPart, 0, firstPart.length);
             pos.write(secondPart, 0, secondPart.length);
             for (int i = 0; i < paramCount; i++) {
@@ -182,6 +190,7 @@ public class ComQuery {
         } else {
           // we cannot know the additional query part size.
           pos.write(';');
+          pos.write(timeoutPart, 0, timeoutPart.length);
           pos.write(firstPart, 0, firstPart.length);
           pos.write(secondPart, 0, secondPart.length);
           for (int i = 0; i < paramCount; i++) {
@@ -195,6 +204,7 @@ public class ComQuery {
       }
 
     } else {
+      pos.write(timeoutPart, 0, timeoutPart.length);
       pos.write(firstPart, 0, firstPart.length);
       pos.write(secondPart, 0, secondPart.length);
       int lastPartLength = queryParts.get(paramCount + 2).length;
@@ -356,7 +366,9 @@ public class ComQuery {
       final PacketOutputStream pos, List<byte[]> sqlBytes, int queryTimeout) throws IOException {
     pos.startPacket(0);
     pos.write(Packet.COM_QUERY);
-    pos.write(("SET STATEMENT max_statement_time=" + queryTimeout + " FOR ").getBytes());
+    if (queryTimeout > 0) {
+      pos.write(("SET STATEMENT max_statement_time=" + queryTimeout + " FOR ").getBytes());
+    }
     for (byte[] bytes : sqlBytes) {
       pos.write(bytes);
     }
@@ -98,6 +98,30 @@ public class ComStmtPrepare {
    */
   public ServerPrepareResult read(PacketInputStream reader, boolean eofDeprecated)
       throws IOException, SQLException {
+    ServerPrepareResult serverPrepareResult = readResult(reader, eofDeprecated);
+    if (protocol.getOptions().cachePrepStmts
+        && protocol.getOptions().useServerPrepStmts
+        && sql != null
+        && sql.length() < protocol.getOptions().prepStmtCacheSqlLimit) {
+      String key = protocol.getDatabase() + "-" + sql;
+      ServerPrepareResult cachedServerPrepareResult =
+          protocol.addPrepareInCache(key, serverPrepareResult);
+      return cachedServerPrepareResult != null ? cachedServerPrepareResult : serverPrepareResult;
+    }
+    return serverPrepareResult;
+  }
+
+  /**
+   * Read COM_PREPARE_RESULT, without adding result to prepare cache.
+   *
+   * @param reader inputStream
+   * @param eofDeprecated are EOF_packet deprecated
+   * @return ServerPrepareResult prepare result
+   * @throws IOException if connection has error
+   * @throws SQLException if server answer with error.
+   */
+  public ServerPrepareResult readResult(PacketInputStream reader, boolean eofDeprecated)
+      throws IOException, SQLException {
     Buffer buffer = reader.getPacket(true);
     byte firstByte = buffer.getByteAt(buffer.position);
 
@@ -148,18 +172,7 @@ public class ComStmtPrepare {
         }
       }
 
-      ServerPrepareResult serverPrepareResult =
-          new ServerPrepareResult(sql, statementId, columns, params, protocol);
-      if (protocol.getOptions().cachePrepStmts
-          && protocol.getOptions().useServerPrepStmts
-          && sql != null
-          && sql.length() < protocol.getOptions().prepStmtCacheSqlLimit) {
-        String key = protocol.getDatabase() + "-" + sql;
-        ServerPrepareResult cachedServerPrepareResult =
-            protocol.addPrepareInCache(key, serverPrepareResult);
-        return cachedServerPrepareResult != null ? cachedServerPrepareResult : serverPrepareResult;
-      }
-      return serverPrepareResult;
+      return new ServerPrepareResult(sql, statementId, columns, params, protocol);
 
     } else {
       throw new SQLException("Unexpected packet returned by server, first byte " + firstByte);
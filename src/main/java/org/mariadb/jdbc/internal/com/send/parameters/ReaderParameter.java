@@ -57,7 +57,7 @@ import java.io.Reader;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 
-public class ReaderParameter implements Cloneable, ParameterHolder {
+public class ReaderParameter implements Cloneable, LongDataParameterHolder {
 
   private final Reader reader;
   private final long length;
@@ -119,6 +119,19 @@ public class ReaderParameter implements Cloneable, ParameterHolder {
     }
   }
 
+  /**
+   * Send data to socket using COM_STMT_SEND_LONG_DATA commands.
+   *
+   * @param pos socket output stream
+   * @param statementId server statement id
+   * @param parameterId parameter index
+   * @throws IOException if socket error occur
+   */
+  public void writeLongData(final PacketOutputStream pos, int statementId, short parameterId)
+      throws IOException {
+    pos.writeLongData(statementId, parameterId, reader, length);
+  }
+
   public ColumnType getColumnType() {
     return ColumnType.STRING;
   }
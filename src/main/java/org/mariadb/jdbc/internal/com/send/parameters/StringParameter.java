@@ -53,9 +53,9 @@
 package org.mariadb.jdbc.internal.com.send.parameters;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+import org.mariadb.jdbc.internal.util.Utils;
 
 public class StringParameter implements Cloneable, ParameterHolder {
 
@@ -87,9 +87,8 @@ public class StringParameter implements Cloneable, ParameterHolder {
    * @throws IOException if socket error occur
    */
   public void writeBinary(final PacketOutputStream pos) throws IOException {
-    byte[] bytes = stringValue.getBytes(StandardCharsets.UTF_8);
-    pos.writeFieldLength(bytes.length);
-    pos.write(bytes);
+    pos.writeFieldLength(Utils.utf8Length(stringValue));
+    pos.write(stringValue, false, noBackslashEscapes);
   }
 
   public ColumnType getColumnType() {
@@ -60,10 +60,7 @@ import java.net.SocketException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -72,6 +69,7 @@ import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.failover.thread.ConnectionValidator;
+import org.mariadb.jdbc.internal.failover.tools.HostHealthRegistry;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -82,9 +80,6 @@ import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
 
 public abstract class AbstractMastersListener implements Listener {
 
-  /** List the recent failedConnection. */
-  private static final ConcurrentMap<HostAddress, Long> blacklist = new ConcurrentHashMap<>();
-
   private static final ConnectionValidator connectionValidationLoop = new ConnectionValidator();
   private static final Logger logger = LoggerFactory.getLogger(AbstractMastersListener.class);
 
@@ -112,7 +107,7 @@ public abstract class AbstractMastersListener implements Listener {
 
   /** Clear blacklist data. */
   public static void clearBlacklist() {
-    blacklist.clear();
+    HostHealthRegistry.clear();
   }
 
   /**
@@ -159,7 +154,7 @@ public abstract class AbstractMastersListener implements Listener {
   }
 
   public Set<HostAddress> getBlacklistKeys() {
-    return blacklist.keySet();
+    return HostHealthRegistry.getFailingHosts();
   }
 
   /**
@@ -206,14 +201,14 @@ public abstract class AbstractMastersListener implements Listener {
   }
 
   /**
-   * After a failover, put the hostAddress in a static list so the other connection will not take
-   * this host in account for a time.
+   * After a failover, put the hostAddress in the shared host health registry so the other
+   * connections will not take this host in account until it is probed successfully.
    *
    * @param hostAddress the HostAddress to add to blacklist
    */
   public void addToBlacklist(HostAddress hostAddress) {
     if (hostAddress != null && !isExplicitClosed()) {
-      blacklist.putIfAbsent(hostAddress, System.nanoTime());
+      HostHealthRegistry.markFailure(hostAddress, getMaxProbeBackoffNanos());
     }
   }
 
@@ -224,21 +219,31 @@ public abstract class AbstractMastersListener implements Listener {
    */
   public void removeFromBlacklist(HostAddress hostAddress) {
     if (hostAddress != null) {
-      blacklist.remove(hostAddress);
+      HostHealthRegistry.markSuccess(hostAddress);
     }
   }
 
-  /** Permit to remove Host to blacklist after loadBalanceBlacklistTimeout seconds. */
+  /**
+   * Claim the right to connect to a host during failover loop. A blacklisted host is probed by a
+   * single connection at a time, with an exponential backoff up to loadBalanceBlacklistTimeout.
+   *
+   * @param hostAddress host to connect to
+   * @return true if connection can be attempted
+   */
+  public boolean claimHostProbe(HostAddress hostAddress) {
+    return HostHealthRegistry.tryClaimProbe(hostAddress, getMaxProbeBackoffNanos());
+  }
+
+  /**
+   * Permit to remove Host to blacklist when not having failed since loadBalanceBlacklistTimeout
+   * seconds.
+   */
   public void resetOldsBlackListHosts() {
-    long currentTimeNanos = System.nanoTime();
-    Set<Map.Entry<HostAddress, Long>> entries = blacklist.entrySet();
-    for (Map.Entry<HostAddress, Long> blEntry : entries) {
-      long entryNanos = blEntry.getValue();
-      long durationSeconds = TimeUnit.NANOSECONDS.toSeconds(currentTimeNanos - entryNanos);
-      if (durationSeconds >= urlParser.getOptions().loadBalanceBlacklistTimeout) {
-        blacklist.remove(blEntry.getKey(), entryNanos);
-      }
-    }
+    HostHealthRegistry.removeIdle(getMaxProbeBackoffNanos());
+  }
+
+  private long getMaxProbeBackoffNanos() {
+    return TimeUnit.SECONDS.toNanos(urlParser.getOptions().loadBalanceBlacklistTimeout);
   }
 
   protected void resetMasterFailoverData() {
@@ -334,6 +339,7 @@ public abstract class AbstractMastersListener implements Listener {
             ServerPrepareResult serverPrepareResult =
                 currentProtocol.prepare(oldServerPrepareResult.getSql(), mustBeOnMaster);
             oldServerPrepareResult.failover(serverPrepareResult.getStatementId(), currentProtocol);
+            oldServerPrepareResult.setColumns(serverPrepareResult.getColumns());
             logger.debug(
                 "relaunch query to new connection "
                     + ((currentProtocol != null)
@@ -103,6 +103,8 @@ public interface Listener {
 
   void removeFromBlacklist(HostAddress hostAddress);
 
+  boolean claimHostProbe(HostAddress hostAddress);
+
   void syncConnection(Protocol from, Protocol to) throws SQLException;
 
   UrlParser getUrlParser();
@@ -58,12 +58,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.failover.tools.ClusterTopology;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
 import org.mariadb.jdbc.internal.protocol.AuroraProtocol;
 import org.mariadb.jdbc.internal.protocol.Protocol;
@@ -71,7 +73,8 @@ import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.dao.ReconnectDuringTransactionException;
 import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
 
-public class AuroraListener extends MastersSlavesListener {
+public class AuroraListener extends MastersSlavesListener
+    implements ClusterTopology.EndpointsListener {
 
   private static final Logger logger = Logger.getLogger(AuroraListener.class.getName());
   private final Pattern auroraDnsPattern =
@@ -144,6 +147,73 @@ public class AuroraListener extends MastersSlavesListener {
     return clusterHostAddress;
   }
 
+  /**
+   * Initialize connections. Listener is registered to cluster topology, to be notified when
+   * another connection discovers endpoints change.
+   *
+   * @throws SQLException if a connection error append.
+   */
+  @Override
+  public void initializeConnection() throws SQLException {
+    if (clusterDnsSuffix != null) {
+      getTopology().addEndpointsListener(this);
+    }
+    try {
+      super.initializeConnection();
+    } catch (SQLException e) {
+      // topology is shared by all connections: don't keep a reference to a failed one
+      getTopology().removeEndpointsListener(this);
+      throw e;
+    }
+  }
+
+  @Override
+  protected void removeListenerFromSchedulers() {
+    super.removeListenerFromSchedulers();
+    getTopology().removeEndpointsListener(this);
+  }
+
+  @Override
+  protected String getClusterKey() {
+    return clusterDnsSuffix != null ? clusterDnsSuffix : super.getClusterKey();
+  }
+
+  /**
+   * Aurora reports replication lag of all instances in information_schema.replica_host_status, so
+   * a single query records the lag of every replica of the cluster.
+   *
+   * @param protocol current protocol connected to
+   * @throws SQLException if query fails
+   */
+  @Override
+  protected void sampleReplicaLag(Protocol protocol) throws SQLException {
+    if (clusterDnsSuffix == null) {
+      super.sampleReplicaLag(protocol);
+      return;
+    }
+    ClusterTopology topology = getTopology();
+    proxy.lock.lock();
+    try {
+      Results results = new Results();
+      protocol.executeQuery(
+          false,
+          results,
+          "select server_id, replica_lag_in_milliseconds "
+              + "from information_schema.replica_host_status "
+              + "where session_id <> 'MASTER_SESSION_ID' "
+              + "and last_update_timestamp > now() - INTERVAL 3 MINUTE");
+      results.commandEnd();
+      ResultSet resultSet = results.getResultSet();
+      while (resultSet.next()) {
+        topology.setReplicaLag(
+            new HostAddress(resultSet.getString(1) + "." + clusterDnsSuffix, protocol.getPort()),
+            Math.max(0, (long) resultSet.getDouble(2)));
+      }
+    } finally {
+      proxy.lock.unlock();
+    }
+  }
+
   /**
    * Search a valid connection for failed one. A Node can be a master or a replica depending on the
    * cluster state. so search for each host until found all the failed connection. By default,
@@ -190,6 +260,7 @@ public class AuroraListener extends MastersSlavesListener {
     blacklistShuffle.retainAll(hostAddresses);
     Collections.shuffle(blacklistShuffle);
     loopAddress.addAll(blacklistShuffle);
+    moveLaggingReplicasLast(loopAddress);
 
     // put connected at end
     if (masterProtocol != null && !isMasterHostFail()) {
@@ -235,8 +306,9 @@ public class AuroraListener extends MastersSlavesListener {
   }
 
   /**
-   * Retrieves the information necessary to add a new endpoint. Calls the methods that retrieves the
-   * instance identifiers and sets urlParser accordingly.
+   * Retrieves the information necessary to add a new endpoint. Endpoints are shared by all
+   * connections to the cluster : instance identifiers are only queried when cached endpoints are
+   * older than option "topologyCacheTtl", and by a single connection at a time.
    *
    * @param protocol current protocol connected to
    * @throws SQLException if connection error occur
@@ -244,11 +316,40 @@ public class AuroraListener extends MastersSlavesListener {
   public void retrieveAllEndpointsAndSet(Protocol protocol) throws SQLException {
     // For a given cluster, same port for all endpoints and same end host address
     if (clusterDnsSuffix != null) {
-      List<String> endpoints = getCurrentEndpointIdentifiers(protocol);
-      setUrlParserFromEndpoints(endpoints, protocol.getPort());
+      ClusterTopology topology = getTopology();
+      long ttlNanos = TimeUnit.SECONDS.toNanos(urlParser.getOptions().topologyCacheTtl);
+      if (topology.tryStartEndpointsRefresh(ttlNanos)) {
+        List<HostAddress> addresses = null;
+        try {
+          List<String> endpoints = getCurrentEndpointIdentifiers(protocol);
+          addresses = toHostAddresses(endpoints, protocol.getPort());
+        } finally {
+          topology.endEndpointsRefresh(addresses);
+        }
+      }
+
+      List<HostAddress> endpoints = topology.getEndpoints();
+      if (endpoints != null) {
+        endpointsChanged(endpoints);
+      } else {
+        hostAddresses = Collections.unmodifiableList(new ArrayList<>(urlParser.getHostAddresses()));
+      }
     }
   }
 
+  /**
+   * Set discovered endpoints as hosts to connect to.
+   *
+   * @param endpoints cluster endpoints
+   */
+  @Override
+  public void endpointsChanged(List<HostAddress> endpoints) {
+    List<HostAddress> addresses = new ArrayList<>(endpoints);
+    // randomize order for distributed load-balancing
+    Collections.shuffle(addresses);
+    hostAddresses = Collections.unmodifiableList(addresses);
+  }
+
   /**
    * Retrieves all endpoints of a cluster from the appropriate database table.
    *
@@ -277,9 +378,6 @@ public class AuroraListener extends MastersSlavesListener {
           endpoints.add(resultSet.getString(1) + "." + clusterDnsSuffix);
         }
 
-        // randomize order for distributed load-balancing
-        Collections.shuffle(endpoints);
-
       } finally {
         proxy.lock.unlock();
       }
@@ -300,22 +398,20 @@ public class AuroraListener extends MastersSlavesListener {
   }
 
   /**
-   * Sets urlParser accordingly to discovered hosts.
+   * Convert discovered instance identifiers to host addresses.
    *
    * @param endpoints instance identifiers
    * @param port port that is common to all endpoints
+   * @return host addresses
    */
-  private void setUrlParserFromEndpoints(List<String> endpoints, int port) {
+  private static List<HostAddress> toHostAddresses(List<String> endpoints, int port) {
     List<HostAddress> addresses = new ArrayList<>();
     for (String endpoint : endpoints) {
       if (endpoint != null) {
         addresses.add(new HostAddress(endpoint, port, null));
       }
     }
-    if (addresses.isEmpty()) {
-      addresses.addAll(urlParser.getHostAddresses());
-    }
-    hostAddresses = addresses;
+    return addresses;
   }
 
   /**
@@ -427,8 +523,11 @@ public class AuroraListener extends MastersSlavesListener {
       masterHostAddress =
           new HostAddress(masterHostName + "." + clusterDnsSuffix, protocol.getPort(), null);
       loopAddress.add(masterHostAddress);
-      if (!hostAddresses.contains(masterHostAddress)) {
-        hostAddresses.add(masterHostAddress);
+      List<HostAddress> currentAddresses = hostAddresses;
+      if (!currentAddresses.contains(masterHostAddress)) {
+        List<HostAddress> addresses = new ArrayList<>(currentAddresses);
+        addresses.add(masterHostAddress);
+        hostAddresses = Collections.unmodifiableList(addresses);
       }
       return masterHostAddress;
     }
@@ -61,6 +61,7 @@ import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.MariaDbConnection;
@@ -69,6 +70,8 @@ import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.failover.AbstractMastersSlavesListener;
 import org.mariadb.jdbc.internal.failover.HandleErrorResult;
 import org.mariadb.jdbc.internal.failover.thread.FailoverLoop;
+import org.mariadb.jdbc.internal.failover.thread.ReplicaLagMonitor;
+import org.mariadb.jdbc.internal.failover.tools.ClusterTopology;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -85,6 +88,11 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
 
   private static final AtomicInteger listenerCount = new AtomicInteger();
   private static final Logger logger = LoggerFactory.getLogger(MastersSlavesListener.class);
+  private static final ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor();
+  private static final long LAG_SAMPLE_INTERVAL_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(ReplicaLagMonitor.CHECK_INTERVAL_MILLIS);
+  private static final long LAG_SAMPLE_VALIDITY_NANOS = 5 * LAG_SAMPLE_INTERVAL_NANOS;
+  private static final AtomicBoolean lagQueryFailureLogged = new AtomicBoolean();
   private static DynamicSizedSchedulerInterface dynamicSizedScheduler;
 
   static {
@@ -93,7 +101,10 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
 
   protected Protocol masterProtocol;
   protected Protocol secondaryProtocol;
-  protected List<HostAddress> hostAddresses;
+  // copy-on-write : list is never modified once published, since endpoints can be changed by
+  // threads of other connections
+  protected volatile List<HostAddress> hostAddresses;
+  private volatile ClusterTopology topology;
 
   /**
    * Initialisation.
@@ -109,7 +120,7 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
     listenerCount.incrementAndGet();
     masterProtocol = null;
     secondaryProtocol = null;
-    hostAddresses = urlParser.getHostAddresses();
+    hostAddresses = Collections.unmodifiableList(new ArrayList<>(urlParser.getHostAddresses()));
     setMasterHostFail();
     setSecondaryHostFail();
   }
@@ -161,9 +172,35 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
   protected void removeListenerFromSchedulers() {
     super.removeListenerFromSchedulers();
     FailoverLoop.removeListener(this);
+    replicaLagMonitor.removeListener(this);
     listenerCount.addAndGet(-1);
   }
 
+  /**
+   * Key identifying the cluster, shared by all connections using the same hosts.
+   *
+   * @return cluster key
+   */
+  protected String getClusterKey() {
+    return HostAddress.toString(urlParser.getHostAddresses());
+  }
+
+  /**
+   * Get cluster information shared with other connections to this cluster.
+   *
+   * @return cluster topology
+   */
+  public ClusterTopology getTopology() {
+    ClusterTopology current = topology;
+    if (current == null || current.isRemoved()) {
+      current = ClusterTopology.get(getClusterKey());
+      topology = current;
+    } else {
+      current.touch();
+    }
+    return current;
+  }
+
   /**
    * Initialize connections.
    *
@@ -178,6 +215,10 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
       // initializeConnection failed
       checkInitialConnection(e);
     }
+    // register only once connected, so a failed initialization doesn't stay referenced
+    if (urlParser.getOptions().maxReplicaLagMs > 0) {
+      replicaLagMonitor.addListener(this);
+    }
   }
 
   @Override
@@ -516,6 +557,7 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
     blacklistShuffle.retainAll(hostAddresses);
     Collections.shuffle(blacklistShuffle);
     loopAddress.addAll(blacklistShuffle);
+    moveLaggingReplicasLast(loopAddress);
 
     // put connected at end
     if (masterProtocol != null && !isMasterHostFail()) {
@@ -1033,6 +1075,120 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
     return true;
   }
 
+  /**
+   * Put hosts known to have a replication lag exceeding option "maxReplicaLagMs" at the end of the
+   * list.
+   *
+   * @param loopAddress host list
+   */
+  protected void moveLaggingReplicasLast(List<HostAddress> loopAddress) {
+    long maxReplicaLagMs = urlParser.getOptions().maxReplicaLagMs;
+    if (maxReplicaLagMs > 0) {
+      ClusterTopology topology = getTopology();
+      List<HostAddress> laggingHosts = new ArrayList<>();
+      for (HostAddress hostAddress : loopAddress) {
+        if (topology.isLagging(hostAddress, maxReplicaLagMs, LAG_SAMPLE_VALIDITY_NANOS)) {
+          laggingHosts.add(hostAddress);
+        }
+      }
+      loopAddress.removeAll(laggingHosts);
+      loopAddress.addAll(laggingHosts);
+    }
+  }
+
+  /**
+   * Indicate if replica connection lag exceed option "maxReplicaLagMs". Lag is sampled from this
+   * connection only if no other connection to this cluster has recently sampled it.
+   *
+   * @param protocol replica connection
+   * @return true if replica must not be used
+   */
+  public boolean isReplicaLagging(Protocol protocol) {
+    long maxReplicaLagMs = urlParser.getOptions().maxReplicaLagMs;
+    if (maxReplicaLagMs == 0) {
+      return false;
+    }
+    ClusterTopology topology = getTopology();
+    if (topology.tryClaimLagSample(protocol.getHostAddress(), LAG_SAMPLE_INTERVAL_NANOS)) {
+      try {
+        sampleReplicaLag(protocol);
+      } catch (SQLException sqle) {
+        if (lagQueryFailureLogged.compareAndSet(false, true)) {
+          logger.warn(
+              "Replica lag of [{}] could not be retrieved, option maxReplicaLagMs has no effect"
+                  + " (user may lack REPLICATION CLIENT or SLAVE MONITOR privilege) : {}",
+              protocol.getHostAddress(),
+              sqle.getMessage());
+        } else {
+          logger.debug(
+              "Replica lag of [{}] could not be retrieved : {}",
+              protocol.getHostAddress(),
+              sqle.getMessage());
+        }
+      }
+    }
+    return topology.isLagging(
+        protocol.getHostAddress(), maxReplicaLagMs, LAG_SAMPLE_VALIDITY_NANOS);
+  }
+
+  /**
+   * Query replica lag, and record it in cluster topology.
+   *
+   * @param protocol replica connection
+   * @throws SQLException if query fails
+   */
+  protected void sampleReplicaLag(Protocol protocol) throws SQLException {
+    getTopology().setReplicaLag(protocol.getHostAddress(), protocol.getReplicaLagMillis());
+  }
+
+  /**
+   * Check current secondary connection replica lag. If lag exceeds option "maxReplicaLagMs",
+   * read-only queries are switched to master connection and the failover loop will search for
+   * another replica.
+   *
+   * <p>Connection is checked only if not currently in use, not in a transaction, and has no
+   * streaming result-set, since querying server would load it fully.
+   */
+  public void checkReplicaLag() {
+    if (isExplicitClosed() || isSecondaryHostFail() || !proxy.lock.tryLock()) {
+      return;
+    }
+    try {
+      Protocol protocol = this.secondaryProtocol;
+      if (isSecondaryHostFail()
+          || protocol == null
+          || protocol.inTransaction()
+          || protocol.getActiveStreamingResult() != null
+          || !isReplicaLagging(protocol)) {
+        return;
+      }
+
+      if (currentProtocol == protocol) {
+        // stale reads are better than no connection
+        if (isMasterHostFail() || masterProtocol == null) {
+          return;
+        }
+        try {
+          syncConnection(protocol, masterProtocol);
+        } catch (SQLException e) {
+          return;
+        }
+        currentProtocol = masterProtocol;
+      }
+
+      logger.info(
+          "SQL secondary node [{}, conn={}] replication lag exceed {}ms, searching another replica",
+          protocol.getHostAddress().toString(),
+          protocol.getServerThreadId(),
+          urlParser.getOptions().maxReplicaLagMs);
+      setSecondaryHostFail();
+      protocol.close();
+    } finally {
+      proxy.lock.unlock();
+    }
+    handleFailLoop();
+  }
+
   /**
    * Check master status.
    *
@@ -1078,6 +1234,7 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
 
       // replace prepare data
       oldServerPrepareResult.failover(serverPrepareResult.getStatementId(), secondaryProtocol);
+      oldServerPrepareResult.setColumns(serverPrepareResult.getColumns());
     }
   }
 
@@ -0,0 +1,130 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.thread;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.internal.failover.impl.MastersSlavesListener;
+import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
+
+/**
+ * Periodically ask listeners having option "maxReplicaLagMs" set to check their replica lag. Lag
+ * samples are shared by cluster, so a replica is only queried once per interval whatever the
+ * number of connections using it.
+ *
+ * <p>Checks run on a dedicated thread, so a slow replica doesn't delay connection validation.
+ */
+public class ReplicaLagMonitor {
+
+  public static final long CHECK_INTERVAL_MILLIS = 1000;
+
+  private final ScheduledThreadPoolExecutor scheduler = createScheduler();
+  private final ConcurrentLinkedQueue<MastersSlavesListener> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final LagChecker checker = new LagChecker();
+
+  private static ScheduledThreadPoolExecutor createScheduler() {
+    ScheduledThreadPoolExecutor scheduler =
+        new ScheduledThreadPoolExecutor(1, new MariaDbThreadFactory("MariaDb-replica-lag"));
+    // thread ends when no listener needs checking
+    scheduler.setKeepAliveTime(10, TimeUnit.SECONDS);
+    scheduler.allowCoreThreadTimeOut(true);
+    return scheduler;
+  }
+
+  /**
+   * Add listener to replica lag check list.
+   *
+   * @param listener listener
+   */
+  public void addListener(MastersSlavesListener listener) {
+    queue.add(listener);
+    if (scheduled.compareAndSet(false, true)) {
+      scheduler.schedule(checker, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Remove listener from replica lag check list.
+   *
+   * @param listener listener
+   */
+  public void removeListener(MastersSlavesListener listener) {
+    queue.remove(listener);
+  }
+
+  private class LagChecker implements Runnable {
+
+    @Override
+    public void run() {
+      try {
+        for (MastersSlavesListener listener : queue) {
+          if (!listener.isExplicitClosed()) {
+            try {
+              listener.checkReplicaLag();
+            } catch (Throwable t) {
+              // lag will be checked again next time
+            }
+          }
+        }
+      } finally {
+        scheduled.set(false);
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+          scheduler.schedule(this, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+  }
+}
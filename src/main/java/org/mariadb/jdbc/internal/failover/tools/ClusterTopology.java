@@ -0,0 +1,288 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.HostAddress;
+
+/**
+ * Cluster information shared by all connections to the same cluster, whatever pool or listener
+ * they belong to. Endpoints and replica lag are retrieved by a single connection, and other
+ * connections use the recorded values.
+ *
+ * <p>Endpoints listeners are weakly referenced, so a connection never closed doesn't stay in
+ * memory. Topologies without listener and not used for some time are removed.
+ */
+public class ClusterTopology {
+
+  private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final long UNUSED_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+  private static final ConcurrentMap<String, ClusterTopology> clusters = new ConcurrentHashMap<>();
+  private static volatile long nextPruneNanos = System.nanoTime() + PRUNE_INTERVAL_NANOS;
+
+  private final ConcurrentMap<HostAddress, LagSample> replicaLags = new ConcurrentHashMap<>();
+  private final ConcurrentMap<HostAddress, Long> lagSampleClaims = new ConcurrentHashMap<>();
+  private final Set<EndpointsListener> endpointsListeners =
+      Collections.newSetFromMap(new WeakHashMap<>());
+  private final AtomicBoolean endpointsRefreshing = new AtomicBoolean();
+  private volatile List<HostAddress> endpoints;
+  private volatile long endpointsNanos;
+  private volatile long lastUsedNanos = System.nanoTime();
+  private volatile boolean removed;
+
+  /**
+   * Get topology of a cluster, creating it if needed.
+   *
+   * @param clusterKey cluster identifier
+   * @return shared cluster topology
+   */
+  public static ClusterTopology get(String clusterKey) {
+    long now = System.nanoTime();
+    if (now - nextPruneNanos > 0) {
+      nextPruneNanos = now + PRUNE_INTERVAL_NANOS;
+      prune(now);
+    }
+    ClusterTopology topology = clusters.computeIfAbsent(clusterKey, key -> new ClusterTopology());
+    topology.lastUsedNanos = now;
+    return topology;
+  }
+
+  /**
+   * Remove topologies without endpoints listener, and not used for some time.
+   *
+   * @param now current time in nanoseconds
+   */
+  static void prune(long now) {
+    clusters
+        .values()
+        .removeIf(
+            topology -> {
+              if (topology.hasEndpointsListener()
+                  || now - topology.lastUsedNanos <= UNUSED_TTL_NANOS) {
+                return false;
+              }
+              topology.removed = true;
+              return true;
+            });
+  }
+
+  /** Clear all cluster topologies. */
+  public static void clear() {
+    clusters.clear();
+  }
+
+  /** Mark topology as used, so it is not removed. */
+  public void touch() {
+    lastUsedNanos = System.nanoTime();
+  }
+
+  /**
+   * Indicate if topology has been removed because unused: {@link #get(String)} must be called
+   * again to get current cluster topology.
+   *
+   * @return true if removed
+   */
+  public boolean isRemoved() {
+    return removed;
+  }
+
+  /**
+   * Claim the right to sample the replica lag of a host. Only one connection obtains it per
+   * interval, others must rely on recorded value.
+   *
+   * @param hostAddress replica host
+   * @param intervalNanos minimum delay between two samples of this host
+   * @return true if caller must sample replica lag
+   */
+  public boolean tryClaimLagSample(HostAddress hostAddress, long intervalNanos) {
+    long now = System.nanoTime();
+    Long lastClaim = lagSampleClaims.get(hostAddress);
+    if (lastClaim == null) {
+      return lagSampleClaims.putIfAbsent(hostAddress, now) == null;
+    }
+    return now - lastClaim >= intervalNanos && lagSampleClaims.replace(hostAddress, lastClaim, now);
+  }
+
+  /**
+   * Record replica lag of a host.
+   *
+   * @param hostAddress replica host
+   * @param lagMillis replication lag in milliseconds. Long.MAX_VALUE if replication is not running
+   */
+  public void setReplicaLag(HostAddress hostAddress, long lagMillis) {
+    replicaLags.put(hostAddress, new LagSample(lagMillis, System.nanoTime()));
+  }
+
+  /**
+   * Indicate if a replica is known to lag more than allowed.
+   *
+   * @param hostAddress replica host
+   * @param maxLagMillis maximum allowed lag in milliseconds
+   * @param validityNanos samples older than this are ignored
+   * @return true if a recent sample exceed maximum lag
+   */
+  public boolean isLagging(HostAddress hostAddress, long maxLagMillis, long validityNanos) {
+    LagSample sample = replicaLags.get(hostAddress);
+    return sample != null
+        && sample.lagMillis > maxLagMillis
+        && System.nanoTime() - sample.sampleNanos < validityNanos;
+  }
+
+  /**
+   * Register a listener to be notified when cluster endpoints change.
+   *
+   * @param listener listener
+   */
+  public void addEndpointsListener(EndpointsListener listener) {
+    synchronized (endpointsListeners) {
+      endpointsListeners.add(listener);
+    }
+  }
+
+  /**
+   * Unregister an endpoints listener.
+   *
+   * @param listener listener
+   */
+  public void removeEndpointsListener(EndpointsListener listener) {
+    synchronized (endpointsListeners) {
+      endpointsListeners.remove(listener);
+    }
+  }
+
+  private boolean hasEndpointsListener() {
+    synchronized (endpointsListeners) {
+      return !endpointsListeners.isEmpty();
+    }
+  }
+
+  /**
+   * Get last discovered cluster endpoints.
+   *
+   * @return unmodifiable endpoint list, or null if never discovered
+   */
+  public List<HostAddress> getEndpoints() {
+    return endpoints;
+  }
+
+  /**
+   * Claim the right to refresh cluster endpoints. Only one connection obtains it at a time, and
+   * only when cached endpoints are older than ttlNanos. Caller must then call {@link
+   * #endEndpointsRefresh(List)}.
+   *
+   * @param ttlNanos endpoints time to live
+   * @return true if caller must refresh endpoints
+   */
+  public boolean tryStartEndpointsRefresh(long ttlNanos) {
+    if (endpoints != null && System.nanoTime() - endpointsNanos < ttlNanos) {
+      return false;
+    }
+    return endpointsRefreshing.compareAndSet(false, true);
+  }
+
+  /**
+   * Record discovered endpoints and release refresh claim. Registered listeners are notified if
+   * endpoints have changed.
+   *
+   * @param newEndpoints discovered endpoints, null or empty if discovery failed
+   */
+  public void endEndpointsRefresh(List<HostAddress> newEndpoints) {
+    try {
+      if (newEndpoints != null && !newEndpoints.isEmpty()) {
+        List<HostAddress> previous = endpoints;
+        endpoints = Collections.unmodifiableList(new ArrayList<>(newEndpoints));
+        endpointsNanos = System.nanoTime();
+        if (previous == null || !new HashSet<>(previous).equals(new HashSet<>(newEndpoints))) {
+          List<EndpointsListener> listeners;
+          synchronized (endpointsListeners) {
+            listeners = new ArrayList<>(endpointsListeners);
+          }
+          for (EndpointsListener listener : listeners) {
+            listener.endpointsChanged(endpoints);
+          }
+        }
+      }
+    } finally {
+      endpointsRefreshing.set(false);
+    }
+  }
+
+  public interface EndpointsListener {
+
+    /**
+     * Called when cluster endpoints have changed.
+     *
+     * @param endpoints unmodifiable endpoint list
+     */
+    void endpointsChanged(List<HostAddress> endpoints);
+  }
+
+  private static final class LagSample {
+    private final long lagMillis;
+    private final long sampleNanos;
+
+    private LagSample(long lagMillis, long sampleNanos) {
+      this.lagMillis = lagMillis;
+      this.sampleNanos = sampleNanos;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.tools;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mariadb.jdbc.HostAddress;
+
+/**
+ * Health state of failing hosts, shared by all connections whatever pool or listener they belong
+ * to.
+ *
+ * <p>A host is registered on first connection failure and removed on first successful connection.
+ * While registered, the host is only probed by one connection at a time, with an exponential
+ * backoff between two probes, so failover loops of many connections don't flood a failing server
+ * with connection attempts.
+ */
+public class HostHealthRegistry {
+
+  private static final long BASE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final ConcurrentMap<HostAddress, HostHealthRegistry> hosts =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong nextProbeNanos;
+  private final AtomicInteger probes = new AtomicInteger();
+  private volatile long lastFailureNanos;
+
+  private HostHealthRegistry(long nextProbeNanos) {
+    this.nextProbeNanos = new AtomicLong(nextProbeNanos);
+    this.lastFailureNanos = System.nanoTime();
+  }
+
+  /**
+   * Record a connection failure.
+   *
+   * @param hostAddress failing host
+   * @param maxBackoffNanos maximum delay between two probes of a failing host
+   */
+  public static void markFailure(HostAddress hostAddress, long maxBackoffNanos) {
+    long now = System.nanoTime();
+    HostHealthRegistry health =
+        hosts.computeIfAbsent(
+            hostAddress,
+            key -> new HostHealthRegistry(now + Math.min(BASE_BACKOFF_NANOS, maxBackoffNanos)));
+    health.lastFailureNanos = now;
+  }
+
+  /**
+   * Record a successful connection : host is considered healthy again.
+   *
+   * @param hostAddress host
+   */
+  public static void markSuccess(HostAddress hostAddress) {
+    hosts.remove(hostAddress);
+  }
+
+  /**
+   * Claim the right to connect to a host. Healthy hosts can always be connected to. A failing host
+   * can only be probed by one connection once its backoff has elapsed. Each probe doubles the
+   * backoff, up to maxBackoffNanos, until a connection succeeds.
+   *
+   * @param hostAddress host
+   * @param maxBackoffNanos maximum delay between two probes of a failing host
+   * @return true if caller can connect to host
+   */
+  public static boolean tryClaimProbe(HostAddress hostAddress, long maxBackoffNanos) {
+    HostHealthRegistry health = hosts.get(hostAddress);
+    if (health == null) {
+      return true;
+    }
+    long now = System.nanoTime();
+    long nextProbe = health.nextProbeNanos.get();
+    if (now - nextProbe < 0) {
+      return false;
+    }
+    int shift = Math.min(health.probes.get() + 1, 30);
+    long backoff = Math.min(BASE_BACKOFF_NANOS << shift, maxBackoffNanos);
+    if (health.nextProbeNanos.compareAndSet(nextProbe, now + backoff)) {
+      health.probes.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Forget failing hosts that have not been probed since idleNanos.
+   *
+   * @param idleNanos delay without any failure after which a host is forgotten
+   */
+  public static void removeIdle(long idleNanos) {
+    long now = System.nanoTime();
+    for (Map.Entry<HostAddress, HostHealthRegistry> entry : hosts.entrySet()) {
+      HostHealthRegistry health = entry.getValue();
+      if (now - health.lastFailureNanos >= idleNanos && now - health.nextProbeNanos.get() >= 0) {
+        hosts.remove(entry.getKey(), health);
+      }
+    }
+  }
+
+  /**
+   * Get failing hosts.
+   *
+   * @return live view of failing hosts
+   */
+  public static Set<HostAddress> getFailingHosts() {
+    return hosts.keySet();
+  }
+
+  /** Clear all host health data. */
+  public static void clear() {
+    hosts.clear();
+  }
+}
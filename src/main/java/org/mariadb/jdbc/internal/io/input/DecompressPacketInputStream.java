@@ -72,6 +72,7 @@ public class DecompressPacketInputStream implements PacketInputStream {
 
   private static final int REUSABLE_BUFFER_LENGTH = 1024;
   private static final int MAX_PACKET_SIZE = 0xffffff;
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
   private static final Logger logger = LoggerFactory.getLogger(DecompressPacketInputStream.class);
   private final byte[] header = new byte[7];
   private final byte[] reusableArray = new byte[REUSABLE_BUFFER_LENGTH];
@@ -218,12 +219,20 @@ public class DecompressPacketInputStream implements PacketInputStream {
       cacheEnd = length;
     } else {
       // must add to cache
-      byte[] newCache = new byte[length + cacheEnd - cachePos];
-      System.arraycopy(cacheData, cachePos, newCache, 0, cacheEnd - cachePos);
-      System.arraycopy(rawBytes, 0, newCache, cacheEnd - cachePos, length);
-      cacheData = newCache;
-      cachePos = 0;
-      cacheEnd = newCache.length;
+      int cached = cacheEnd - cachePos;
+      if (cacheData.length - cacheEnd < length || cacheData == reusableArray) {
+        // grow cache, at least doubling it, to avoid copying cached data each time a compressed
+        // packet is added when a packet is bigger than 16M
+        int newCapacity =
+            (int) Math.min(MAX_ARRAY_SIZE, Math.max((long) cached << 1, (long) cached + length));
+        byte[] newCache = new byte[newCapacity];
+        System.arraycopy(cacheData, cachePos, newCache, 0, cached);
+        cacheData = newCache;
+        cachePos = 0;
+        cacheEnd = cached;
+      }
+      System.arraycopy(rawBytes, 0, cacheData, cacheEnd, length);
+      cacheEnd += length;
     }
   }
 
@@ -295,6 +304,11 @@ public class DecompressPacketInputStream implements PacketInputStream {
     return null;
   }
 
+  @Override
+  public int available() throws IOException {
+    return Math.max(0, cacheEnd - cachePos) + inputStream.available();
+  }
+
   @Override
   public int getLastPacketSeq() {
     return packetSeq;
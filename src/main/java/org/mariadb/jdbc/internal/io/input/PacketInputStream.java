@@ -62,6 +62,14 @@ public interface PacketInputStream {
 
   byte[] getPacketArray(boolean reUsable) throws IOException;
 
+  /**
+   * Number of bytes that can be read without blocking.
+   *
+   * @return available bytes
+   * @throws IOException if socket exception occur
+   */
+  int available() throws IOException;
+
   int getLastPacketSeq();
 
   int getCompressLastPacketSeq();
@@ -58,7 +58,9 @@ import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.io.LruTraceCache;
@@ -218,6 +220,11 @@ public class StandardPacketInputStream implements PacketInputStream {
     return new Buffer(getPacketArray(reUsable), lastPacketLength);
   }
 
+  @Override
+  public int available() throws IOException {
+    return inputStream.available();
+  }
+
   /**
    * Get current input stream for creating compress input stream, to avoid losing already read bytes
    * in case of pipelining.
@@ -306,6 +313,10 @@ public class StandardPacketInputStream implements PacketInputStream {
     // In case content length is big, content will be separate in many 16Mb packets
     // ***************************************************
     if (lastPacketLength == MAX_PACKET_SIZE) {
+      // packets are kept separately, then copied once into final array, to avoid copying
+      // previous data each time a packet is added.
+      List<byte[]> packets = new ArrayList<>();
+      packets.add(rawBytes);
       int packetLength;
       do {
         remaining = 4;
@@ -322,18 +333,15 @@ public class StandardPacketInputStream implements PacketInputStream {
         packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
         packetSeq = header[3];
 
-        int currentBufferLength = rawBytes.length;
-        byte[] newRawBytes = new byte[currentBufferLength + packetLength];
-        System.arraycopy(rawBytes, 0, newRawBytes, 0, currentBufferLength);
-        rawBytes = newRawBytes;
+        byte[] packet = new byte[packetLength];
 
         // ***************************************************
         // Read content
         // ***************************************************
         remaining = packetLength;
-        off = currentBufferLength;
+        off = 0;
         do {
-          int count = inputStream.read(rawBytes, off, remaining);
+          int count = inputStream.read(packet, off, remaining);
           if (count < 0) {
             throw new EOFException(
                 "unexpected end of stream, read "
@@ -352,24 +360,74 @@ public class StandardPacketInputStream implements PacketInputStream {
                   NOT_COMPRESSED,
                   threadId,
                   Arrays.copyOfRange(header, 0, 4),
-                  Arrays.copyOfRange(rawBytes, 0, off > 1000 ? 1000 : off)));
+                  Arrays.copyOfRange(packet, 0, off > 1000 ? 1000 : off)));
         }
 
         if (logger.isTraceEnabled()) {
           logger.trace(
               "read: {}{}",
               serverThreadLog,
-              Utils.hexdump(
-                  maxQuerySizeToLog - 4, currentBufferLength, packetLength, header, rawBytes));
+              Utils.hexdump(maxQuerySizeToLog - 4, 0, packetLength, header, packet));
         }
 
+        packets.add(packet);
         lastPacketLength += packetLength;
       } while (packetLength == MAX_PACKET_SIZE);
+
+      rawBytes = new byte[lastPacketLength];
+      int pos = 0;
+      for (byte[] packet : packets) {
+        System.arraycopy(packet, 0, rawBytes, pos, packet.length);
+        pos += packet.length;
+      }
     }
 
     return rawBytes;
   }
 
+  /**
+   * Get next packet as a stream : only packet header is read, content is read from socket when
+   * reading the returned stream. Packets bigger than 16M are streamed the same way, without being
+   * reassembled in memory. Returned stream must be read (or skipped) to the end before any other
+   * packet is read.
+   *
+   * @return packet content stream
+   * @throws IOException if socket exception occur.
+   */
+  public PacketStream getPacketStream() throws IOException {
+    return new PacketStream(readHeader());
+  }
+
+  private int readHeader() throws IOException {
+    int remaining = 4;
+    int off = 0;
+    do {
+      int count = inputStream.read(header, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + off
+                + " bytes from 4 (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+
+    int packetLength =
+        (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+    packetSeq = header[3];
+
+    if (traceCache != null) {
+      traceCache.put(
+          new TraceObject(false, NOT_COMPRESSED, threadId, Arrays.copyOfRange(header, 0, 4)));
+    }
+
+    if (logger.isTraceEnabled()) {
+      logger.trace("read: {}streamed packet of length={}", serverThreadLog, packetLength);
+    }
+    return packetLength;
+  }
+
   @Override
   public int getLastPacketSeq() {
     return packetSeq;
@@ -399,4 +457,101 @@ public class StandardPacketInputStream implements PacketInputStream {
   public void setTraceCache(LruTraceCache traceCache) {
     this.traceCache = traceCache;
   }
+
+  /** Stream on a packet content, reading data from socket. */
+  public class PacketStream extends InputStream {
+
+    private final int firstPacketLength;
+    private int remaining;
+    private boolean lastPacket;
+
+    private PacketStream(int packetLength) {
+      this.firstPacketLength = packetLength;
+      this.remaining = packetLength;
+      this.lastPacket = packetLength < MAX_PACKET_SIZE;
+    }
+
+    /**
+     * Length of first packet. Content is bigger than that if length is 16M (0xffffff).
+     *
+     * @return first packet length
+     */
+    public int getFirstPacketLength() {
+      return firstPacketLength;
+    }
+
+    private boolean hasRemaining() throws IOException {
+      while (remaining == 0) {
+        if (lastPacket) {
+          return false;
+        }
+        remaining = readHeader();
+        lastPacket = remaining < MAX_PACKET_SIZE;
+      }
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!hasRemaining()) {
+        return -1;
+      }
+      int value = inputStream.read();
+      if (value < 0) {
+        throw new EOFException("unexpected end of stream (socket was closed by server)");
+      }
+      remaining--;
+      return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!hasRemaining()) {
+        return -1;
+      }
+      int count = inputStream.read(bytes, off, Math.min(len, remaining));
+      if (count < 0) {
+        throw new EOFException("unexpected end of stream (socket was closed by server)");
+      }
+      remaining -= count;
+      return count;
+    }
+
+    /**
+     * Read exactly len bytes.
+     *
+     * @param bytes destination array
+     * @param off destination offset
+     * @param len number of bytes to read
+     * @throws IOException if socket exception occur, or if packet has not enough data.
+     */
+    public void readFully(byte[] bytes, int off, int len) throws IOException {
+      while (len > 0) {
+        int count = read(bytes, off, len);
+        if (count < 0) {
+          throw new EOFException("unexpected end of packet");
+        }
+        off += count;
+        len -= count;
+      }
+    }
+
+    /**
+     * Skip packet remaining content.
+     *
+     * @throws IOException if socket exception occur.
+     */
+    public void skipRemaining() throws IOException {
+      byte[] skipBuf = null;
+      while (hasRemaining()) {
+        if (skipBuf == null) {
+          skipBuf = new byte[Math.min(remaining, 8192)];
+        }
+        read(skipBuf, 0, skipBuf.length);
+      }
+    }
+  }
 }
@@ -52,6 +52,8 @@
 
 package org.mariadb.jdbc.internal.io.output;
 
+import static org.mariadb.jdbc.internal.com.Packet.COM_STMT_SEND_LONG_DATA;
+
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -65,10 +67,18 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
   private static final byte DBL_QUOTE = (byte) '"';
   private static final byte ZERO_BYTE = (byte) '\0';
   private static final byte BACKSLASH = (byte) '\\';
+  private static final long LOW_BITS = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final long QUOTE_MASK = LOW_BITS * QUOTE;
+  private static final long DBL_QUOTE_MASK = LOW_BITS * DBL_QUOTE;
+  private static final long BACKSLASH_MASK = LOW_BITS * BACKSLASH;
 
   private static final int SMALL_BUFFER_SIZE = 8192;
   private static final int MEDIUM_BUFFER_SIZE = 128 * 1024;
   private static final int LARGE_BUFFER_SIZE = 1024 * 1024;
+  private static final int ENCODE_CHUNK_LENGTH = 8192;
+  // long data command size, keeping buffer under LARGE_BUFFER_SIZE (header included)
+  private static final int LONG_DATA_MAX_LENGTH = LARGE_BUFFER_SIZE - 32;
   protected final int maxQuerySizeToLog;
   protected byte[] buf;
   protected int pos;
@@ -80,6 +90,7 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
   protected LruTraceCache traceCache = null;
   private int mark = -1;
   private boolean bufferContainDataAfterMark = false;
+  private byte[] encodeBuf;
   protected long threadId;
 
   /**
@@ -501,38 +512,94 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
 
     // not enough space remaining
     if (charsLength * 3 + 2 >= buf.length - pos) {
-      byte[] arr = str.getBytes(StandardCharsets.UTF_8);
       if (escape) {
         write(QUOTE);
-        writeBytesEscaped(arr, arr.length, noBackslashEscapes);
+      }
+      writeEncodedChunks(str, escape, noBackslashEscapes);
+      if (escape) {
         write(QUOTE);
-      } else {
-        write(arr, 0, arr.length);
       }
       return;
     }
 
-    // create UTF-8 byte array
     // since java char are internally using UTF-16 using surrogate's pattern, 4 bytes unicode
     // characters will
     // represent 2 characters : example "\uD83C\uDFA4" = 🎤 unicode 8 "no microphones"
     // so max size is 3 * charLength
     // (escape characters are 1 byte encoded, so length might only be 2 when escape)
     // + 2 for the quotes for text protocol
+    if (escape) {
+      buf[pos++] = QUOTE;
+    }
+    pos = encode(str, 0, charsLength, escape, noBackslashEscapes, buf, pos);
+    if (escape) {
+      buf[pos++] = QUOTE;
+    }
+  }
+
+  /**
+   * Write a string too big for current buffer. String is UTF-8 encoded (and escaped) by chunk into
+   * a small intermediate array, then written like any byte array, flushing packets when full. This
+   * avoids creating a byte array of the whole string.
+   *
+   * @param str string
+   * @param escape must be escape
+   * @param noBackslashEscapes escape method
+   * @throws IOException if socket error occur
+   */
+  private void writeEncodedChunks(String str, boolean escape, boolean noBackslashEscapes)
+      throws IOException {
+    if (encodeBuf == null) {
+      encodeBuf = new byte[ENCODE_CHUNK_LENGTH * 3];
+    }
+    int charsLength = str.length();
     int charsOffset = 0;
+    while (charsOffset < charsLength) {
+      int end = Math.min(charsOffset + ENCODE_CHUNK_LENGTH, charsLength);
+      if (end < charsLength && Character.isHighSurrogate(str.charAt(end - 1))) {
+        // don't split surrogate pair : high surrogate will begin next chunk
+        end--;
+      }
+      int len = encode(str, charsOffset, end, escape, noBackslashEscapes, encodeBuf, 0);
+      write(encodeBuf, 0, len);
+      charsOffset = end;
+    }
+  }
+
+  /**
+   * UTF-8 encode string part into byte array. Array must have 3 bytes available per character.
+   * Part must not end with the high surrogate of a surrogate pair.
+   *
+   * @param str string
+   * @param charsOffset first character position
+   * @param charsLength end character position (exclusive)
+   * @param escape must be escape
+   * @param noBackslashEscapes escape method
+   * @param dest destination array
+   * @param destPos destination position
+   * @return destination position after encoded data
+   */
+  private static int encode(
+      String str,
+      int charsOffset,
+      int charsLength,
+      boolean escape,
+      boolean noBackslashEscapes,
+      byte[] dest,
+      int destPos) {
+    int pos = destPos;
     char currChar;
 
     // quick loop if only ASCII chars for faster escape
     if (escape) {
-      buf[pos++] = QUOTE;
       if (noBackslashEscapes) {
         for (;
             charsOffset < charsLength && (currChar = str.charAt(charsOffset)) < 0x80;
             charsOffset++) {
           if (currChar == QUOTE) {
-            buf[pos++] = QUOTE;
+            dest[pos++] = QUOTE;
           }
-          buf[pos++] = (byte) currChar;
+          dest[pos++] = (byte) currChar;
         }
       } else {
         for (;
@@ -542,16 +609,16 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
               || currChar == QUOTE
               || currChar == 0
               || currChar == DBL_QUOTE) {
-            buf[pos++] = BACKSLASH;
+            dest[pos++] = BACKSLASH;
           }
-          buf[pos++] = (byte) currChar;
+          dest[pos++] = (byte) currChar;
         }
       }
     } else {
       for (;
           charsOffset < charsLength && (currChar = str.charAt(charsOffset)) < 0x80;
           charsOffset++) {
-        buf[pos++] = (byte) currChar;
+        dest[pos++] = (byte) currChar;
       }
     }
 
@@ -562,54 +629,53 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
         if (escape) {
           if (noBackslashEscapes) {
             if (currChar == QUOTE) {
-              buf[pos++] = QUOTE;
+              dest[pos++] = QUOTE;
             }
           } else if (currChar == BACKSLASH
               || currChar == QUOTE
               || currChar == ZERO_BYTE
               || currChar == DBL_QUOTE) {
-            buf[pos++] = BACKSLASH;
+            dest[pos++] = BACKSLASH;
           }
         }
-        buf[pos++] = (byte) currChar;
+        dest[pos++] = (byte) currChar;
       } else if (currChar < 0x800) {
-        buf[pos++] = (byte) (0xc0 | (currChar >> 6));
-        buf[pos++] = (byte) (0x80 | (currChar & 0x3f));
+        dest[pos++] = (byte) (0xc0 | (currChar >> 6));
+        dest[pos++] = (byte) (0x80 | (currChar & 0x3f));
       } else if (currChar >= 0xD800 && currChar < 0xE000) {
         // reserved for surrogate - see https://en.wikipedia.org/wiki/UTF-16
         if (currChar < 0xDC00) {
           // is high surrogate
-          if (charsOffset + 1 > charsLength) {
-            buf[pos++] = (byte) 0x63;
+          if (charsOffset >= str.length()) {
+            // high surrogate ending string : replaced like any unpaired surrogate
+            dest[pos++] = (byte) 0x3f;
           } else {
             char nextChar = str.charAt(charsOffset);
             if (nextChar >= 0xDC00 && nextChar < 0xE000) {
               // is low surrogate
               int surrogatePairs =
                   ((currChar << 10) + nextChar) + (0x010000 - (0xD800 << 10) - 0xDC00);
-              buf[pos++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
-              buf[pos++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
-              buf[pos++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
-              buf[pos++] = (byte) (0x80 | (surrogatePairs & 0x3f));
+              dest[pos++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
+              dest[pos++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
+              dest[pos++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
+              dest[pos++] = (byte) (0x80 | (surrogatePairs & 0x3f));
               charsOffset++;
             } else {
               // must have low surrogate
-              buf[pos++] = (byte) 0x3f;
+              dest[pos++] = (byte) 0x3f;
             }
           }
         } else {
           // low surrogate without high surrogate before
-          buf[pos++] = (byte) 0x3f;
+          dest[pos++] = (byte) 0x3f;
         }
       } else {
-        buf[pos++] = (byte) (0xe0 | ((currChar >> 12)));
-        buf[pos++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
-        buf[pos++] = (byte) (0x80 | (currChar & 0x3f));
+        dest[pos++] = (byte) (0xe0 | ((currChar >> 12)));
+        dest[pos++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
+        dest[pos++] = (byte) (0x80 | (currChar & 0x3f));
       }
     }
-    if (escape) {
-      buf[pos++] = QUOTE;
-    }
+    return pos;
   }
 
   /**
@@ -702,6 +768,109 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
     }
   }
 
+  /**
+   * Send stream content to server using COM_STMT_SEND_LONG_DATA commands. Content is sent by
+   * chunk, each command being limited to max_allowed_packet, so whole value is never buffered.
+   *
+   * @param statementId server statement id
+   * @param parameterId parameter index
+   * @param is stream to send
+   * @param length maximum number of bytes to send (Long.MAX_VALUE to send whole stream)
+   * @throws IOException if any error occur when reading stream or writing to socket
+   */
+  public void writeLongData(int statementId, short parameterId, InputStream is, long length)
+      throws IOException {
+    int maxData = longDataMaxLength();
+    byte[] array = new byte[Math.min(SMALL_BUFFER_SIZE, maxData)];
+    int dataLength = -1;
+    int len;
+    while (length > 0 && (len = is.read(array, 0, (int) Math.min(length, array.length))) >= 0) {
+      dataLength = writeLongDataChunk(statementId, parameterId, array, len, dataLength, maxData);
+      length -= len;
+    }
+    endLongData(statementId, parameterId, dataLength);
+  }
+
+  /**
+   * Send reader content to server, UTF-8 encoded, using COM_STMT_SEND_LONG_DATA commands. Content
+   * is sent by chunk, each command being limited to max_allowed_packet.
+   *
+   * @param statementId server statement id
+   * @param parameterId parameter index
+   * @param reader reader to send
+   * @param length maximum number of characters to send (Long.MAX_VALUE to send whole reader)
+   * @throws IOException if any error occur when reading reader or writing to socket
+   */
+  public void writeLongData(int statementId, short parameterId, Reader reader, long length)
+      throws IOException {
+    int maxData = longDataMaxLength();
+    int maxChars = Math.max(1, Math.min(ENCODE_CHUNK_LENGTH / 2, maxData / 3));
+    char[] chars = new char[maxChars + 1];
+    int dataLength = -1;
+    int carry = 0;
+    int len;
+    while (length > 0
+        && (len = reader.read(chars, carry, (int) Math.min(length, maxChars))) >= 0) {
+      length -= len;
+      int end = carry + len;
+      // a high surrogate is kept for next chunk, to encode surrogate pair together
+      carry = length > 0 && Character.isHighSurrogate(chars[end - 1]) ? 1 : 0;
+      byte[] data = new String(chars, 0, end - carry).getBytes(StandardCharsets.UTF_8);
+      dataLength =
+          writeLongDataChunk(statementId, parameterId, data, data.length, dataLength, maxData);
+      if (carry == 1) {
+        chars[0] = chars[end - 1];
+      }
+    }
+    if (carry == 1) {
+      byte[] data = new String(chars, 0, 1).getBytes(StandardCharsets.UTF_8);
+      dataLength =
+          writeLongDataChunk(statementId, parameterId, data, data.length, dataLength, maxData);
+    }
+    endLongData(statementId, parameterId, dataLength);
+  }
+
+  private int longDataMaxLength() {
+    return Math.max(1, Math.min(LONG_DATA_MAX_LENGTH, maxAllowedPacket - 8));
+  }
+
+  /**
+   * Append data to current COM_STMT_SEND_LONG_DATA command, sending current command and starting a
+   * new one if command data would exceed maximum length.
+   *
+   * @return current command data length
+   */
+  private int writeLongDataChunk(
+      int statementId, short parameterId, byte[] data, int len, int dataLength, int maxData)
+      throws IOException {
+    if (dataLength >= 0 && dataLength + len > maxData) {
+      flush();
+      dataLength = -1;
+    }
+    if (dataLength < 0) {
+      startLongData(statementId, parameterId);
+      dataLength = 0;
+    }
+    write(data, 0, len);
+    return dataLength + len;
+  }
+
+  private void endLongData(int statementId, short parameterId, int dataLength)
+      throws IOException {
+    if (dataLength < 0) {
+      // empty value must still be send, for server to use it instead of parameter value
+      startLongData(statementId, parameterId);
+    }
+    flush();
+  }
+
+  private void startLongData(int statementId, short parameterId) throws IOException {
+    startPacket(0);
+    write(COM_STMT_SEND_LONG_DATA);
+    writeInt(statementId);
+    writeShort(parameterId);
+  }
+
   /**
    * Write escape bytes to socket.
    *
@@ -732,35 +901,17 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
         } else {
 
           // not enough space in buffer, will fill buffer
-          if (noBackslashEscapes) {
-            for (int i = 0; i < len; i++) {
-              if (QUOTE == bytes[i]) {
-                buf[pos++] = QUOTE;
-                if (buf.length <= pos) {
-                  flushBuffer(false);
-                }
-              }
-              buf[pos++] = bytes[i];
-              if (buf.length <= pos) {
-                flushBuffer(false);
-              }
-            }
-          } else {
-            for (int i = 0; i < len; i++) {
-              if (bytes[i] == QUOTE
-                  || bytes[i] == BACKSLASH
-                  || bytes[i] == DBL_QUOTE
-                  || bytes[i] == ZERO_BYTE) {
-                buf[pos++] = '\\';
-                if (buf.length <= pos) {
-                  flushBuffer(false);
-                }
-              }
-              buf[pos++] = bytes[i];
-              if (buf.length <= pos) {
-                flushBuffer(false);
-              }
+          byte escapeByte = noBackslashEscapes ? QUOTE : BACKSLASH;
+          int off = 0;
+          while (off < len) {
+            int next = indexOfEscape(bytes, off, len, noBackslashEscapes);
+            write(bytes, off, next - off);
+            if (next == len) {
+              break;
             }
+            write(escapeByte);
+            write(bytes[next]);
+            off = next + 1;
           }
           return;
         }
@@ -768,24 +919,72 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
     }
 
     // sure to have enough place filling buffer directly
-    if (noBackslashEscapes) {
-      for (int i = 0; i < len; i++) {
-        if (QUOTE == bytes[i]) {
-          buf[pos++] = QUOTE;
-        }
-        buf[pos++] = bytes[i];
+    byte escapeByte = noBackslashEscapes ? QUOTE : BACKSLASH;
+    int off = 0;
+    while (off < len) {
+      int next = indexOfEscape(bytes, off, len, noBackslashEscapes);
+      System.arraycopy(bytes, off, buf, pos, next - off);
+      pos += next - off;
+      if (next == len) {
+        break;
       }
-    } else {
-      for (int i = 0; i < len; i++) {
-        if (bytes[i] == QUOTE
-            || bytes[i] == BACKSLASH
-            || bytes[i] == '"'
-            || bytes[i] == ZERO_BYTE) {
-          buf[pos++] = BACKSLASH; // add escape slash
-        }
-        buf[pos++] = bytes[i];
+      buf[pos++] = escapeByte;
+      buf[pos++] = bytes[next];
+      off = next + 1;
+    }
+  }
+
+  /**
+   * Search next byte that must be escaped. Bytes are read 8 at a time, and tested at once using
+   * SWAR ("SIMD within a register") zero-byte detection on the value XORed with each searched
+   * byte, so runs without special characters are scanned without a branch per byte.
+   *
+   * @param bytes bytes
+   * @param off start position
+   * @param len end position (exclusive)
+   * @param noBackslashEscapes escape method : only quote must be escaped if true
+   * @return position of the next byte to escape, or len if none
+   */
+  static int indexOfEscape(byte[] bytes, int off, int len, boolean noBackslashEscapes) {
+    int i = off;
+    for (; i + 8 <= len; i += 8) {
+      long word =
+          (bytes[i] & 0xffL)
+              | (bytes[i + 1] & 0xffL) << 8
+              | (bytes[i + 2] & 0xffL) << 16
+              | (bytes[i + 3] & 0xffL) << 24
+              | (bytes[i + 4] & 0xffL) << 32
+              | (bytes[i + 5] & 0xffL) << 40
+              | (bytes[i + 6] & 0xffL) << 48
+              | (bytes[i + 7] & 0xffL) << 56;
+      long found = zeroBytes(word ^ QUOTE_MASK);
+      if (!noBackslashEscapes) {
+        found |=
+            zeroBytes(word ^ BACKSLASH_MASK) | zeroBytes(word ^ DBL_QUOTE_MASK) | zeroBytes(word);
+      }
+      if (found != 0) {
+        // lowest flagged byte is always exact (borrow only propagates to higher bytes)
+        return i + (Long.numberOfTrailingZeros(found) >>> 3);
+      }
+    }
+    for (; i < len; i++) {
+      byte b = bytes[i];
+      if (b == QUOTE
+          || (!noBackslashEscapes && (b == BACKSLASH || b == DBL_QUOTE || b == ZERO_BYTE))) {
+        return i;
       }
     }
+    return len;
+  }
+
+  /**
+   * Flag zero bytes of a long value: high bit of each zero byte is set.
+   *
+   * @param value value
+   * @return non zero value if any byte is zero
+   */
+  private static long zeroBytes(long value) {
+    return (value - LOW_BITS) & ~value & HIGH_BITS;
   }
 
   public int getMaxAllowedPacket() {
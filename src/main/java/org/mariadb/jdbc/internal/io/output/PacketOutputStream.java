@@ -88,6 +88,12 @@ public interface PacketOutputStream {
   void write(Reader reader, long length, boolean escape, boolean noBackslashEscapes)
       throws IOException;
 
+  void writeLongData(int statementId, short parameterId, InputStream is, long length)
+      throws IOException;
+
+  void writeLongData(int statementId, short parameterId, Reader reader, long length)
+      throws IOException;
+
   void writeBytesEscaped(byte[] bytes, int len, boolean noBackslashEscapes) throws IOException;
 
   void flush() throws IOException;
@@ -56,6 +56,7 @@ import java.util.Dictionary;
 import java.util.Hashtable;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.MariaDbDatabaseMetaData;
+import org.mariadb.jdbc.internal.protocol.CancelQueryPool;
 import org.mariadb.jdbc.internal.util.constant.Version;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 import org.osgi.framework.BundleActivator;
@@ -89,6 +90,7 @@ public class MariaDbActivator implements BundleActivator {
 
     if (DriverManager.getDriver("jdbc:mariadb:") != null) {
       SchedulerServiceProviderHolder.close();
+      CancelQueryPool.close();
     }
   }
 }
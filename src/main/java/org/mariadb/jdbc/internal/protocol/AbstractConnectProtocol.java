@@ -142,6 +142,8 @@ public abstract class AbstractConnectProtocol implements Protocol {
   protected long serverThreadId;
   protected ServerPrepareStatementCache serverPrepareStatementCache;
   protected boolean eofDeprecated = false;
+  // server may skip result-set metadata of prepared statements (MARIADB_CLIENT_CACHE_METADATA)
+  protected boolean cacheMetadata = false;
   protected long serverCapabilities;
   protected int socketTimeout;
   protected ExceptionFactory exceptionFactory;
@@ -293,6 +295,11 @@ public abstract class AbstractConnectProtocol implements Protocol {
       capabilities |= MariaDbServerCapabilities.CLIENT_DEPRECATE_EOF;
     }
 
+    if (options.cacheResultSetMetadata
+        && (serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0) {
+      capabilities |= MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA;
+    }
+
     if (options.useCompression) {
       if ((serverCapabilities & MariaDbServerCapabilities.COMPRESS) == 0) {
         // ensure that server has compress capacity - MaxScale doesn't
@@ -584,6 +591,9 @@ public abstract class AbstractConnectProtocol implements Protocol {
     if ((serverCapabilities & MariaDbServerCapabilities.CLIENT_DEPRECATE_EOF) != 0) {
       eofDeprecated = true;
     }
+    cacheMetadata =
+        options.cacheResultSetMetadata
+            && (serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0;
 
     postConnectionQueries();
 
@@ -56,16 +56,19 @@ import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.send.ComStmtPrepare;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.io.input.PacketInputStream;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 import org.mariadb.jdbc.internal.util.BulkStatus;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
@@ -85,7 +88,7 @@ public abstract class AbstractMultiSend {
   private PrepareResult prepareResult;
   private List<String> queries;
   private String sql;
-  private ThreadPoolExecutor readScheduler;
+  private Executor readScheduler;
 
   /**
    * Bulk execute for Server PreparedStatement.executeBatch (when no COM_MULTI)
@@ -107,7 +110,7 @@ public abstract class AbstractMultiSend {
       List<ParameterHolder[]> parametersList,
       boolean readPrepareStmtResult,
       String sql,
-      ThreadPoolExecutor readScheduler) {
+      Executor readScheduler) {
     this.protocol = protocol;
     this.writer = writer;
     this.results = results;
@@ -135,7 +138,7 @@ public abstract class AbstractMultiSend {
       Results results,
       final ClientPrepareResult clientPrepareResult,
       List<ParameterHolder[]> parametersList,
-      ThreadPoolExecutor readScheduler) {
+      Executor readScheduler) {
     this.protocol = protocol;
     this.writer = writer;
     this.results = results;
@@ -160,7 +163,7 @@ public abstract class AbstractMultiSend {
       PacketOutputStream writer,
       Results results,
       List<String> queries,
-      ThreadPoolExecutor readScheduler) {
+      Executor readScheduler) {
     this.protocol = protocol;
     this.writer = writer;
     this.results = results;
@@ -216,8 +219,9 @@ public abstract class AbstractMultiSend {
           String key = protocol.getDatabase() + "-" + sql;
           prepareResult = protocol.prepareStatementCache().get(key);
           if (prepareResult != null
-              && !((ServerPrepareResult) prepareResult).incrementShareCounter()) {
-            // in cache but been de-allocated
+              && (((ServerPrepareResult) prepareResult).isReprepareNeeded()
+                  || !((ServerPrepareResult) prepareResult).incrementShareCounter())) {
+            // in cache but been de-allocated, or closed by a connection reset
             prepareResult = null;
           }
         }
@@ -269,9 +273,25 @@ public abstract class AbstractMultiSend {
           statementId = ((ServerPrepareResult) prepareResult).getStatementId();
           paramCount = getParamCount();
         }
+        if (binaryProtocol) {
+          // column definitions of results can be skipped by server
+          results.setPrepareResult((ServerPrepareResult) prepareResult);
+        }
 
         boolean useCurrentThread = false;
 
+        if (protocol.getOptions().useBatchMultiSendSingleThread) {
+          // results are read by current thread, between sends
+          useCurrentThread = true;
+          SQLException bulkException = sendAndReadBulk(requestNumberByBulk, paramCount, status);
+          if (bulkException != null) {
+            if (!protocol.getOptions().continueBatchOnError) {
+              throw bulkException;
+            }
+            exception = bulkException;
+          }
+        }
+
         for (; status.sendSubCmdCounter < requestNumberByBulk; ) {
           sendCmd(writer, results, parametersList, queries, paramCount, status, prepareResult);
           status.sendSubCmdCounter++;
@@ -322,6 +342,8 @@ public abstract class AbstractMultiSend {
         status.sendEnded = true;
         if (!useCurrentThread) {
           protocol.changeSocketTcpNoDelay(protocol.getOptions().tcpNoDelay);
+          // executor may have queued task without starting it: read results in current thread then
+          futureReadTask.run();
           try {
             AsyncMultiReadResult asyncMultiReadResult = futureReadTask.get();
 
@@ -364,7 +386,9 @@ public abstract class AbstractMultiSend {
 
         if (protocol.isInterrupted()) {
           // interrupted during read, must throw an exception manually
-          futureReadTask.cancel(true);
+          if (futureReadTask != null) {
+            futureReadTask.cancel(true);
+          }
           throw new SQLTimeoutException("Timeout during batch execution");
         }
         futureReadTask = null;
@@ -383,4 +407,63 @@ public abstract class AbstractMultiSend {
       throw protocol.handleIoException(e);
     }
   }
+
+  /**
+   * Send commands of current bulk, reading results in current thread. Results already received
+   * are read after each command sent, so server never waits for results to be read, then remaining
+   * results are read when all commands are sent. All results are read, first error is returned.
+   *
+   * @param requestNumberByBulk number of commands of current bulk
+   * @param paramCount parameter number
+   * @param status bulk status
+   * @return first error of bulk, or null
+   * @throws SQLException if a connection error occur
+   * @throws IOException if a socket error occur during send
+   */
+  private SQLException sendAndReadBulk(int requestNumberByBulk, int paramCount, BulkStatus status)
+      throws SQLException, IOException {
+    PacketInputStream reader = protocol.getReader();
+    int bulkInitialCounter = status.sendCmdCounter;
+    int readCounter = 0;
+    SQLException bulkException = null;
+
+    while (status.sendSubCmdCounter < requestNumberByBulk) {
+      sendCmd(writer, results, parametersList, queries, paramCount, status, prepareResult);
+      status.sendSubCmdCounter++;
+      status.sendCmdCounter++;
+
+      while (readCounter < status.sendSubCmdCounter && reader.available() > 0) {
+        bulkException = readResult(bulkException, readCounter++, bulkInitialCounter, paramCount);
+      }
+    }
+
+    protocol.changeSocketTcpNoDelay(protocol.getOptions().tcpNoDelay);
+    while (readCounter < status.sendSubCmdCounter) {
+      bulkException = readResult(bulkException, readCounter++, bulkInitialCounter, paramCount);
+    }
+    return bulkException;
+  }
+
+  private SQLException readResult(
+      SQLException bulkException, int counter, int bulkInitialCounter, int paramCount)
+      throws SQLException {
+    try {
+      protocol.getResult(results);
+    } catch (SQLNonTransientConnectionException | SQLTransientConnectionException qex) {
+      throw qex;
+    } catch (SQLException qex) {
+      if (bulkException == null) {
+        return handleResultException(
+            qex,
+            results,
+            parametersList,
+            queries,
+            counter,
+            bulkInitialCounter,
+            paramCount,
+            prepareResult);
+      }
+    }
+    return bulkException;
+  }
 }
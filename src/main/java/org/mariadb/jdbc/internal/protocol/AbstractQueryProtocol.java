@@ -67,13 +67,14 @@ import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.LocalInfileInterceptor;
 import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.MariaDbServerCapabilities;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.com.read.ErrorPacket;
@@ -85,12 +86,14 @@ import org.mariadb.jdbc.internal.com.send.ComQuery;
 import org.mariadb.jdbc.internal.com.send.ComStmtExecute;
 import org.mariadb.jdbc.internal.com.send.ComStmtPrepare;
 import org.mariadb.jdbc.internal.com.send.SendChangeDbPacket;
+import org.mariadb.jdbc.internal.com.send.parameters.LongDataParameterHolder;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.io.LruTraceCache;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.util.BulkStatus;
+import org.mariadb.jdbc.internal.util.ColumnDefinitionCache;
 import org.mariadb.jdbc.internal.util.LogQueryTool;
 import org.mariadb.jdbc.internal.util.SqlStates;
 import org.mariadb.jdbc.internal.util.Utils;
@@ -111,13 +114,15 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
   private static final Set<Integer> LOCK_DEADLOCK_ERROR_CODES =
       new HashSet<>(Arrays.asList(1205, 1213, 1614));
 
-  private ThreadPoolExecutor readScheduler = null;
+  private Executor readScheduler = null;
   private int transactionIsolationLevel = 0;
   private InputStream localInfileInputStream;
   private long maxRows; /* max rows returned by a statement */
   private volatile int statementIdToRelease = -1;
   private FutureTask activeFutureTask = null;
+  private int pendingResetResults = 0;
   private boolean interrupted;
+  private final ColumnDefinitionCache columnDefinitionCache;
 
   /**
    * Get a protocol instance.
@@ -132,6 +137,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       final ReentrantLock lock,
       LruTraceCache traceCache) {
     super(urlParser, globalInfo, lock, traceCache);
+    columnDefinitionCache = options.cacheResultSetMetadata ? new ColumnDefinitionCache() : null;
   }
 
   /**
@@ -156,9 +162,9 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       writer.flush();
       getResult(new Results());
 
-      // clear prepare statement cache
+      // cached statements are closed on server, they will be prepared again on next use
       if (options.cachePrepStmts && options.useServerPrepStmts) {
-        serverPrepareStatementCache.clear();
+        serverPrepareStatementCache.setReprepareNeeded();
       }
 
     } catch (SQLException sqlException) {
@@ -169,6 +175,100 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
   }
 
+  /**
+   * Reset connection state without waiting for results: COM_RESET_CONNECTION and commands
+   * restoring autocommit, database and transaction isolation are written in a row. Results are
+   * read by {@link #readPendingResetResults()}, at the latest before next command.
+   *
+   * @param comReset send a COM_RESET_CONNECTION
+   * @param autocommit autocommit value to restore, null if not changed
+   * @param resetDatabase reset database to connection string value
+   * @param transactionIsolation transaction isolation to restore, null if not changed
+   * @throws SQLException if connection failed or transaction isolation is unknown
+   */
+  @Override
+  public void resetPipelined(
+      boolean comReset, Boolean autocommit, boolean resetDatabase, Integer transactionIsolation)
+      throws SQLException {
+    cmdPrologue();
+    lock.lock();
+    try {
+      String isolationQuery =
+          (transactionIsolation == null) ? null : transactionIsolationQuery(transactionIsolation);
+
+      if (comReset) {
+        writer.startPacket(0);
+        writer.write(COM_RESET_CONNECTION);
+        writer.flush();
+        pendingResetResults++;
+
+        // cached statements are closed on server, they will be prepared again on next use
+        if (options.cachePrepStmts && options.useServerPrepStmts) {
+          serverPrepareStatementCache.setReprepareNeeded();
+        }
+      }
+
+      // COM_RESET_CONNECTION reset autocommit to server default value
+      if (autocommit != null && (comReset || autocommit != getAutocommit())) {
+        String query = "set autocommit=" + (autocommit ? "1" : "0");
+        ComQuery.sendDirect(writer, query.getBytes(StandardCharsets.UTF_8));
+        pendingResetResults++;
+      }
+
+      if (resetDatabase && !database.equals(urlParser.getDatabase())) {
+        SendChangeDbPacket.send(writer, urlParser.getDatabase());
+        pendingResetResults++;
+        database = urlParser.getDatabase();
+      }
+
+      if (isolationQuery != null) {
+        ComQuery.sendDirect(writer, isolationQuery.getBytes(StandardCharsets.UTF_8));
+        pendingResetResults++;
+        transactionIsolationLevel = transactionIsolation;
+      }
+
+    } catch (IOException e) {
+      throw exceptionWithQuery(
+          "COM_RESET_CONNECTION failed.", handleIoException(e), explicitClosed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Read results of commands sent by {@link #resetPipelined(boolean, Boolean, boolean, Integer)}
+   * if not already read. All results are read even if one fails, first error is then thrown.
+   *
+   * @throws SQLException if a reset command failed
+   */
+  @Override
+  public void readPendingResetResults() throws SQLException {
+    lock.lock();
+    try {
+      SQLException firstException = null;
+      while (pendingResetResults > 0) {
+        pendingResetResults--;
+        try {
+          getResult(new Results());
+        } catch (SQLNonTransientConnectionException | SQLTransientConnectionException e) {
+          // connection state is unknown, remaining results are lost
+          pendingResetResults = 0;
+          throw exceptionWithQuery("COM_RESET_CONNECTION failed.", e, explicitClosed);
+        } catch (SQLException sqle) {
+          if (firstException == null) {
+            firstException = sqle;
+          }
+        }
+      }
+
+      if (firstException != null) {
+        throw exceptionWithQuery("COM_RESET_CONNECTION failed.", firstException, explicitClosed);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private MariaDbSqlException exceptionWithQuery(
       ParameterHolder[] parameters,
       PrepareResult serverPrepareResult,
@@ -373,6 +473,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param prepareResult ClientPrepareResult
    * @param parametersList List of parameters
    * @param hasLongData has parameter with long data (stream)
+   * @param queryTimeout timeout using max_statement_time, for each command sent. 0 if none
    * @throws SQLException exception
    */
   public boolean executeBatchClient(
@@ -380,7 +481,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       Results results,
       final ClientPrepareResult prepareResult,
       final List<ParameterHolder[]> parametersList,
-      boolean hasLongData)
+      boolean hasLongData,
+      int queryTimeout)
       throws SQLException {
 
     // ***********************************************************************************************************
@@ -398,7 +500,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
         // values rewritten in one query :
         // INSERT INTO X(a,b) VALUES (1,2), (3,4), ...
-        executeBatchRewrite(results, prepareResult, parametersList, true);
+        executeBatchRewrite(results, prepareResult, parametersList, true, queryTimeout);
         return true;
 
       } else if (prepareResult.isQueryMultipleRewritable()) {
@@ -408,13 +510,17 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             && prepareResult.isQueryMultipleRewritable() // INSERT FROM SELECT not allowed
             && results.getAutoGeneratedKeys() == Statement.NO_GENERATED_KEYS
             && versionGreaterOrEqual(10, 2, 7)
-            && executeBulkBatch(results, prepareResult.getSql(), null, parametersList)) {
+            && executeBulkBatch(
+                results,
+                Utils.timeoutSql(prepareResult.getSql(), queryTimeout),
+                null,
+                parametersList)) {
           return true;
         }
 
         // multi rewritten in one query :
         // INSERT INTO X(a,b) VALUES (1,2);INSERT INTO X(a,b) VALUES (3,4); ...
-        executeBatchRewrite(results, prepareResult, parametersList, false);
+        executeBatchRewrite(results, prepareResult, parametersList, false, queryTimeout);
         return true;
       }
     }
@@ -423,13 +529,17 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         && !hasLongData
         && results.getAutoGeneratedKeys() == Statement.NO_GENERATED_KEYS
         && versionGreaterOrEqual(10, 2, 7)
-        && executeBulkBatch(results, prepareResult.getSql(), null, parametersList)) {
+        && executeBulkBatch(
+            results,
+            Utils.timeoutSql(prepareResult.getSql(), queryTimeout),
+            null,
+            parametersList)) {
       return true;
     }
 
     if (options.useBatchMultiSend) {
       // send by bulk : send data by bulk before reading corresponding results
-      executeBatchMulti(results, prepareResult, parametersList);
+      executeBatchMulti(results, prepareResult, parametersList, queryTimeout);
       return true;
     }
 
@@ -494,6 +604,9 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       // **************************************************************************************
       if (serverPrepareResult == null) {
         tmpServerPrepareResult = prepare(sql, true);
+        if (tmpServerPrepareResult.isReprepareNeeded()) {
+          reprepare(tmpServerPrepareResult);
+        }
       }
 
       // **************************************************************************************
@@ -634,12 +747,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param results results
    * @param clientPrepareResult ClientPrepareResult
    * @param parametersList List of parameters
+   * @param queryTimeout timeout using max_statement_time, for each query. 0 if none
    * @throws SQLException exception
    */
   private void executeBatchMulti(
       Results results,
       final ClientPrepareResult clientPrepareResult,
-      final List<ParameterHolder[]> parametersList)
+      final List<ParameterHolder[]> parametersList,
+      int queryTimeout)
       throws SQLException {
 
     cmdPrologue();
@@ -660,7 +775,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
         ParameterHolder[] parameters = parametersList.get(status.sendCmdCounter);
         writer.startPacket(0);
-        ComQuery.sendSubCmd(writer, clientPrepareResult, parameters, -1);
+        ComQuery.sendSubCmd(writer, clientPrepareResult, parameters, queryTimeout);
         writer.flush();
       }
 
@@ -937,13 +1052,15 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param prepareResult prepareResult
    * @param parameterList parameters
    * @param rewriteValues is rewritable flag
+   * @param queryTimeout timeout using max_statement_time, for each query. 0 if none
    * @throws SQLException exception
    */
   private void executeBatchRewrite(
       Results results,
       final ClientPrepareResult prepareResult,
       List<ParameterHolder[]> parameterList,
-      boolean rewriteValues)
+      boolean rewriteValues,
+      int queryTimeout)
       throws SQLException {
 
     cmdPrologue();
@@ -962,7 +1079,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                 currentIndex,
                 prepareResult.getParamCount(),
                 parameterList,
-                rewriteValues);
+                rewriteValues,
+                queryTimeout);
         getResult(results);
 
         if (Thread.currentThread().isInterrupted()) {
@@ -1004,6 +1122,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       throws SQLException {
 
     cmdPrologue();
+    releaseCursor(serverPrepareResult, results);
+
+    if (serverPrepareResult != null && serverPrepareResult.isReprepareNeeded()) {
+      reprepare(serverPrepareResult);
+    }
 
     if (options.useBulkStmts
         && !hasLongData
@@ -1041,12 +1164,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         // send binary data in a separate stream
         for (int i = 0; i < paramCount; i++) {
           if (parameters[i].isLongData()) {
-            writer.startPacket(0);
-            writer.write(COM_STMT_SEND_LONG_DATA);
-            writer.writeInt(statementId);
-            writer.writeShort((short) i);
-            parameters[i].writeBinary(writer);
-            writer.flush();
+            sendLongData(statementId, (short) i, parameters[i]);
           }
         }
 
@@ -1107,31 +1225,55 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       throws SQLException {
 
     cmdPrologue();
+    releaseCursor(serverPrepareResult, results);
 
     try {
 
       int parameterCount = serverPrepareResult.getParameters().length;
+      int statementId = serverPrepareResult.getStatementId();
+      ComStmtPrepare comStmtPrepare = null;
+
+      if (serverPrepareResult.isReprepareNeeded()) {
+        if (supportLastStatementId() && !hasLongData(parameters, parameterCount)) {
+          // send PREPARE and EXECUTE in a row, EXECUTE referencing the statement being prepared
+          comStmtPrepare = new ComStmtPrepare(this, serverPrepareResult.getSql());
+          comStmtPrepare.send(writer);
+          serverPrepareResult.resetParameterTypeHeader();
+          statementId = LAST_STATEMENT_ID;
+        } else {
+          reprepare(serverPrepareResult);
+          statementId = serverPrepareResult.getStatementId();
+        }
+      }
 
       // send binary data in a separate stream
       for (int i = 0; i < parameterCount; i++) {
         if (parameters[i].isLongData()) {
-          writer.startPacket(0);
-          writer.write(COM_STMT_SEND_LONG_DATA);
-          writer.writeInt(serverPrepareResult.getStatementId());
-          writer.writeShort((short) i);
-          parameters[i].writeBinary(writer);
-          writer.flush();
+          sendLongData(statementId, (short) i, parameters[i]);
         }
       }
 
       // send execute query
+      byte cursorType = CURSOR_TYPE_NO_CURSOR;
+      if (options.useCursorFetch
+          && results.getFetchSize() > 0
+          && results.getResultSetConcurrency() == ResultSet.CONCUR_READ_ONLY
+          && serverPrepareResult.getColumns().length > 0) {
+        cursorType = CURSOR_TYPE_READ_ONLY;
+        results.setCursorPrepareResult(serverPrepareResult);
+      }
       ComStmtExecute.send(
           writer,
-          serverPrepareResult.getStatementId(),
+          statementId,
           parameters,
           parameterCount,
           serverPrepareResult.getParameterTypeHeader(),
-          CURSOR_TYPE_NO_CURSOR);
+          cursorType);
+
+      if (comStmtPrepare != null) {
+        readReprepareResult(comStmtPrepare, serverPrepareResult);
+      }
+      results.setPrepareResult(serverPrepareResult);
       getResult(results);
 
     } catch (SQLException qex) {
@@ -1141,6 +1283,276 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
   }
 
+  /**
+   * Prepare and execute a query. If query is not already prepared in cache, PREPARE and EXECUTE are
+   * sent in a row, EXECUTE referencing the statement being prepared with statement id -1, saving a
+   * round trip. Parameters must correspond to the query placeholders.
+   *
+   * <p>If execution fails, prepare result is released.
+   *
+   * @param mustExecuteOnMaster must execute on master
+   * @param sql query
+   * @param results execution result
+   * @param parameters parameters
+   * @return prepare result
+   * @throws SQLException if prepare or execution failed
+   */
+  @Override
+  public ServerPrepareResult prepareAndExecute(
+      boolean mustExecuteOnMaster, String sql, Results results, ParameterHolder[] parameters)
+      throws SQLException {
+
+    cmdPrologue();
+    ServerPrepareResult serverPrepareResult = null;
+    if (options.cachePrepStmts && options.useServerPrepStmts) {
+      serverPrepareResult = serverPrepareStatementCache.get(database + "-" + sql);
+      if (serverPrepareResult != null && !serverPrepareResult.incrementShareCounter()) {
+        // in cache but been de-allocated
+        serverPrepareResult = null;
+      }
+    }
+
+    // cursor use depends on prepare result
+    if (serverPrepareResult == null
+        && (!supportLastStatementId()
+            || hasLongData(parameters, parameters.length)
+            || (options.useCursorFetch && results.getFetchSize() > 0))) {
+      serverPrepareResult = prepare(sql, mustExecuteOnMaster);
+    }
+
+    if (serverPrepareResult != null) {
+      try {
+        executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+      } catch (SQLException sqle) {
+        releasePrepareStatement(serverPrepareResult);
+        throw sqle;
+      }
+      return serverPrepareResult;
+    }
+
+    releaseCursor(null, results);
+    try {
+      ComStmtPrepare comStmtPrepare = new ComStmtPrepare(this, sql);
+      comStmtPrepare.send(writer);
+      ComStmtExecute.send(
+          writer,
+          LAST_STATEMENT_ID,
+          parameters,
+          parameters.length,
+          new ColumnType[parameters.length],
+          CURSOR_TYPE_NO_CURSOR);
+
+      try {
+        serverPrepareResult = comStmtPrepare.read(reader, eofDeprecated);
+      } catch (SQLException sqle) {
+        try {
+          getResult(new Results());
+        } catch (SQLException executeException) {
+          // expected: no statement has been prepared
+        }
+        throw exceptionWithQuery(sql, sqle, explicitClosed);
+      }
+
+      if (serverPrepareResult.getParameters().length > parameters.length) {
+        // server identified more placeholders than client: EXECUTE necessarily failed
+        try {
+          getResult(new Results());
+        } catch (SQLException executeException) {
+          // expected: wrong parameter number
+        }
+        releasePrepareStatement(serverPrepareResult);
+        throw exceptionFactory.create(
+            "Parameter at position " + (parameters.length + 1) + " is not set", "07004");
+      }
+
+      if (serverPrepareResult.getParameters().length < parameters.length) {
+        // server identified less placeholders than client: EXECUTE might have succeeded
+        // with the first values, and must not be executed twice
+        try {
+          results.setPrepareResult(serverPrepareResult);
+          getResult(results);
+          return serverPrepareResult;
+        } catch (SQLException executeException) {
+          // execute again with server parameter count
+        }
+        try {
+          executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+        } catch (SQLException sqle) {
+          releasePrepareStatement(serverPrepareResult);
+          throw sqle;
+        }
+        return serverPrepareResult;
+      }
+
+      try {
+        results.setPrepareResult(serverPrepareResult);
+        getResult(results);
+      } catch (SQLException sqle) {
+        releasePrepareStatement(serverPrepareResult);
+        throw exceptionWithQuery(parameters, serverPrepareResult, sqle, false);
+      }
+      return serverPrepareResult;
+
+    } catch (IOException e) {
+      throw exceptionWithQuery(sql, handleIoException(e), explicitClosed);
+    }
+  }
+
+  /**
+   * MariaDB permit to reference the last prepared statement with statement id -1, so PREPARE and
+   * EXECUTE can be sent without waiting for PREPARE result.
+   *
+   * @return true if server support statement id -1
+   */
+  private boolean supportLastStatementId() {
+    return isServerMariaDb() && versionGreaterOrEqual(10, 2, 4);
+  }
+
+  private static boolean hasLongData(ParameterHolder[] parameters, int parameterCount) {
+    for (int i = 0; i < parameterCount; i++) {
+      if (parameters[i].isLongData()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Prepare again a statement closed on server by a COM_RESET_CONNECTION. Cached metadata are
+   * kept, only statement id changes.
+   *
+   * @param serverPrepareResult statement to prepare again
+   * @throws SQLException if prepare fails
+   */
+  private void reprepare(ServerPrepareResult serverPrepareResult) throws SQLException {
+    try {
+      ComStmtPrepare comStmtPrepare = new ComStmtPrepare(this, serverPrepareResult.getSql());
+      comStmtPrepare.send(writer);
+      ServerPrepareResult prepareResult = comStmtPrepare.readResult(reader, eofDeprecated);
+      serverPrepareResult.reprepared(prepareResult.getStatementId());
+      if (cacheMetadata) {
+        // server compares next metadata with the ones just sent
+        serverPrepareResult.setColumns(prepareResult.getColumns());
+      }
+    } catch (IOException e) {
+      throw exceptionWithQuery(serverPrepareResult.getSql(), handleIoException(e), explicitClosed);
+    }
+  }
+
+  /**
+   * Read result of a PREPARE sent before an EXECUTE referencing it with statement id -1. If
+   * PREPARE failed, the EXECUTE error is read too.
+   *
+   * @param comStmtPrepare prepare command
+   * @param serverPrepareResult statement to update with new statement id
+   * @throws IOException if any connection error occur
+   * @throws SQLException if prepare failed
+   */
+  private void readReprepareResult(
+      ComStmtPrepare comStmtPrepare, ServerPrepareResult serverPrepareResult)
+      throws IOException, SQLException {
+    try {
+      ServerPrepareResult prepareResult = comStmtPrepare.readResult(reader, eofDeprecated);
+      serverPrepareResult.reprepared(prepareResult.getStatementId());
+      if (cacheMetadata) {
+        // server compares next metadata with the ones just sent
+        serverPrepareResult.setColumns(prepareResult.getColumns());
+      }
+    } catch (SQLException sqle) {
+      try {
+        getResult(new Results());
+      } catch (SQLException executeException) {
+        // expected: no statement has been prepared
+      }
+      throw sqle;
+    }
+  }
+
+  /**
+   * Send parameter value using COM_STMT_SEND_LONG_DATA. Streamed values are sent by chunk, so
+   * value is never fully buffered.
+   *
+   * @param statementId server statement id
+   * @param parameterId parameter index
+   * @param parameter parameter
+   * @throws IOException if any error occur when reading value or writing to socket
+   */
+  private void sendLongData(int statementId, short parameterId, ParameterHolder parameter)
+      throws IOException {
+    if (parameter instanceof LongDataParameterHolder) {
+      ((LongDataParameterHolder) parameter).writeLongData(writer, statementId, parameterId);
+      return;
+    }
+    writer.startPacket(0);
+    writer.write(COM_STMT_SEND_LONG_DATA);
+    writer.writeInt(statementId);
+    writer.writeShort(parameterId);
+    parameter.writeBinary(writer);
+    writer.flush();
+  }
+
+  /**
+   * Server closes an open cursor when statement is executed again. Result-set using current cursor
+   * is closed if it belongs to the executing statement, or remaining rows are loaded otherwise.
+   *
+   * @param serverPrepareResult statement to execute
+   * @param results execution results
+   * @throws SQLException if any error occur when loading rows
+   */
+  private void releaseCursor(ServerPrepareResult serverPrepareResult, Results results)
+      throws SQLException {
+    SelectResultSet cursorResultSet =
+        serverPrepareResult == null ? null : serverPrepareResult.getCursorResultSet();
+    if (cursorResultSet != null) {
+      if (cursorResultSet.getStatement() != null
+          && cursorResultSet.getStatement() == results.getStatement()) {
+        cursorResultSet.close();
+      } else {
+        cursorResultSet.fetchRemaining();
+      }
+    }
+  }
+
+  /**
+   * Ask server next rows of an open cursor. Rows are then read by result-set.
+   *
+   * @param serverPrepareResult statement with an open cursor
+   * @param fetchSize number of rows to fetch
+   * @throws SQLException if any connection error occur
+   */
+  public void fetchCursorRows(ServerPrepareResult serverPrepareResult, int fetchSize)
+      throws SQLException {
+    cmdPrologue();
+    try {
+      writer.startPacket(0);
+      writer.write(COM_STMT_FETCH);
+      writer.writeInt(serverPrepareResult.getStatementId());
+      writer.writeInt(fetchSize);
+      writer.flush();
+    } catch (IOException e) {
+      throw handleIoException(e);
+    }
+  }
+
+  /**
+   * Close an open cursor, without reading remaining rows.
+   *
+   * @param serverPrepareResult statement with an open cursor
+   * @throws SQLException if any connection error occur
+   */
+  public void closeCursor(ServerPrepareResult serverPrepareResult) throws SQLException {
+    cmdPrologue();
+    try {
+      writer.startPacket(0);
+      writer.write(COM_STMT_RESET);
+      writer.writeInt(serverPrepareResult.getStatementId());
+      writer.flush();
+      getResult(new Results());
+    } catch (IOException e) {
+      throw handleIoException(e);
+    }
+  }
+
   /** Rollback transaction. */
   public void rollback() throws SQLException {
 
@@ -1354,16 +1766,53 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    */
   @Override
   public void cancelCurrentQuery() throws SQLException {
-    try (MasterProtocol copiedProtocol =
-        new MasterProtocol(urlParser, new GlobalStateInfo(), new ReentrantLock(), traceCache)) {
-      copiedProtocol.setHostAddress(getHostAddress());
-      copiedProtocol.connect();
-      // no lock, because there is already a query running that possessed the lock.
-      copiedProtocol.executeQuery("KILL QUERY " + serverThreadId);
+    if (options.useCancelConnectionPool) {
+      CancelQueryPool.cancel(urlParser, getHostAddress(), serverThreadId);
+    } else {
+      try (MasterProtocol copiedProtocol =
+          new MasterProtocol(urlParser, new GlobalStateInfo(), new ReentrantLock(), traceCache)) {
+        copiedProtocol.setHostAddress(getHostAddress());
+        copiedProtocol.connect();
+        // no lock, because there is already a query running that possessed the lock.
+        copiedProtocol.executeQuery("KILL QUERY " + serverThreadId);
+      }
     }
     interrupted = true;
   }
 
+  /**
+   * Send a KILL QUERY command for each thread id, all commands being sent before reading results.
+   *
+   * @param threadIds server thread ids of connections whose running query must be killed
+   * @return error of each KILL QUERY command, null if command succeeded
+   * @throws SQLException if a connection error occurred
+   */
+  SQLException[] killQueries(long[] threadIds) throws SQLException {
+    SQLException[] errors = new SQLException[threadIds.length];
+    lock.lock();
+    try {
+      for (long threadId : threadIds) {
+        ComQuery.sendDirect(writer, ("KILL QUERY " + threadId).getBytes(StandardCharsets.UTF_8));
+      }
+
+      for (int i = 0; i < threadIds.length; i++) {
+        try {
+          getResult(new Results());
+        } catch (SQLNonTransientConnectionException | SQLTransientConnectionException e) {
+          throw e;
+        } catch (SQLException sqle) {
+          errors[i] = exceptionWithQuery("KILL QUERY " + threadIds[i], sqle, explicitClosed);
+        }
+      }
+      return errors;
+
+    } catch (IOException e) {
+      throw exceptionWithQuery("KILL QUERY", handleIoException(e), explicitClosed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Get current autocommit status.
    *
@@ -1396,8 +1845,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     // so synchronised use count indicator will be decrement.
     serverPrepareResult.decrementShareCounter();
 
-    // deallocate from server if not cached
-    if (serverPrepareResult.canBeDeallocate()) {
+    // deallocate from server if not cached, and not already closed by a connection reset
+    if (serverPrepareResult.canBeDeallocate() && !serverPrepareResult.isReprepareNeeded()) {
       forceReleasePrepareStatement(serverPrepareResult.getStatementId());
     }
   }
@@ -1459,30 +1908,29 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     cmdPrologue();
     lock.lock();
     try {
-      String query = "SET SESSION TRANSACTION ISOLATION LEVEL";
-      switch (level) {
-        case Connection.TRANSACTION_READ_UNCOMMITTED:
-          query += " READ UNCOMMITTED";
-          break;
-        case Connection.TRANSACTION_READ_COMMITTED:
-          query += " READ COMMITTED";
-          break;
-        case Connection.TRANSACTION_REPEATABLE_READ:
-          query += " REPEATABLE READ";
-          break;
-        case Connection.TRANSACTION_SERIALIZABLE:
-          query += " SERIALIZABLE";
-          break;
-        default:
-          throw new SQLException("Unsupported transaction isolation level");
-      }
-      executeQuery(query);
+      executeQuery(transactionIsolationQuery(level));
       transactionIsolationLevel = level;
     } finally {
       lock.unlock();
     }
   }
 
+  private static String transactionIsolationQuery(final int level) throws SQLException {
+    String query = "SET SESSION TRANSACTION ISOLATION LEVEL";
+    switch (level) {
+      case Connection.TRANSACTION_READ_UNCOMMITTED:
+        return query + " READ UNCOMMITTED";
+      case Connection.TRANSACTION_READ_COMMITTED:
+        return query + " READ COMMITTED";
+      case Connection.TRANSACTION_REPEATABLE_READ:
+        return query + " REPEATABLE READ";
+      case Connection.TRANSACTION_SERIALIZABLE:
+        return query + " SERIALIZABLE";
+      default:
+        throw new SQLException("Unsupported transaction isolation level");
+    }
+  }
+
   public int getTransactionIsolationLevel() {
     return transactionIsolationLevel;
   }
@@ -1638,6 +2086,35 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     return autoIncrementIncrement;
   }
 
+  /**
+   * Get replication lag of current server using "SHOW SLAVE STATUS". When server replicates from
+   * multiple sources, the biggest lag is returned.
+   *
+   * @return replication lag in milliseconds, 0 if server is not a replica, Long.MAX_VALUE if
+   *     replication is not running.
+   * @throws SQLException if query fails
+   */
+  public long getReplicaLagMillis() throws SQLException {
+    lock.lock();
+    try {
+      Results results = new Results();
+      executeQuery(false, results, "SHOW SLAVE STATUS");
+      results.commandEnd();
+      ResultSet rs = results.getResultSet();
+      long lagMillis = 0;
+      while (rs.next()) {
+        String secondsBehindMaster = rs.getString("Seconds_Behind_Master");
+        if (secondsBehindMaster == null) {
+          return Long.MAX_VALUE;
+        }
+        lagMillis = Math.max(lagMillis, Long.parseLong(secondsBehindMaster) * 1000);
+      }
+      return lagMillis;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Read ERR_Packet.
    *
@@ -1795,10 +2272,34 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     try {
 
+      // with MARIADB_CLIENT_CACHE_METADATA, server indicates if column definitions follow
+      boolean metadataFollows = !cacheMetadata || buffer.remaining() == 0 || buffer.readByte() != 0;
+      ServerPrepareResult prepareResult = results.getPrepareResult();
+
       // read columns information's
-      ColumnDefinition[] ci = new ColumnDefinition[(int) fieldCount];
-      for (int i = 0; i < fieldCount; i++) {
-        ci[i] = new ColumnDefinition(reader.getPacket(false));
+      ColumnDefinition[] ci;
+      if (!metadataFollows) {
+        if (prepareResult == null || prepareResult.getColumns().length != fieldCount) {
+          // using IOException to close connection,
+          throw new IOException(
+              "Column definitions skipped by server, without prepared statement metadata");
+        }
+        ci = prepareResult.getColumns();
+      } else {
+        ci = new ColumnDefinition[(int) fieldCount];
+        if (columnDefinitionCache != null) {
+          for (int i = 0; i < fieldCount; i++) {
+            ci[i] = columnDefinitionCache.get(reader.getPacket(true));
+          }
+        } else {
+          for (int i = 0; i < fieldCount; i++) {
+            ci[i] = new ColumnDefinition(reader.getPacket(false));
+          }
+        }
+        if (cacheMetadata && prepareResult != null && prepareResult.getColumns().length > 0) {
+          // server will compare next metadata with these ones
+          prepareResult.setColumns(ci);
+        }
       }
 
       boolean callableResult = false;
@@ -1821,7 +2322,12 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                               options.maxQuerySizeToLog, 0, bufferEof.limit, bufferEof.buf)));
         }
         bufferEof.skipBytes(2); // Skip warningCount
-        callableResult = (bufferEof.readShort() & ServerStatus.PS_OUT_PARAMETERS) != 0;
+        short serverStatus = bufferEof.readShort();
+        callableResult = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
+        if ((serverStatus & ServerStatus.CURSOR_EXISTS) == 0) {
+          // command result cannot use a cursor
+          results.setCursorPrepareResult(null);
+        }
       }
 
       // read resultSet
@@ -1922,6 +2428,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       activeFutureTask = null;
     }
 
+    if (pendingResetResults > 0) {
+      // read results of a pipelined reset, so connection state is known
+      readPendingResetResults();
+    }
+
     if (!this.connected) {
       throw exceptionFactory.create("Connection is closed", "08000", 1220);
     }
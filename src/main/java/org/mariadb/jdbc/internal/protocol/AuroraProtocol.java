@@ -166,6 +166,9 @@ public class AuroraProtocol extends MastersSlavesProtocol {
 
           host = loopAddresses.pollFirst();
         }
+        if (searchFilter.isFailoverLoop() && !listener.claimHostProbe(host)) {
+          continue;
+        }
         protocol.setHostAddress(host);
         protocol.connect();
 
@@ -208,6 +211,8 @@ public class AuroraProtocol extends MastersSlavesProtocol {
                 // since there is more than one end point, reactivate connection to a read-only host
                 searchFilter = new SearchFilter(false);
               }
+            } else if (listener.isReplicaLagging(protocol)) {
+              protocol.close();
             } else {
               if (foundSecondary(listener, protocol, searchFilter)) {
                 return;
@@ -433,4 +438,31 @@ public class AuroraProtocol extends MastersSlavesProtocol {
       proxy.lock.unlock();
     }
   }
+
+  /**
+   * Aurora replica lag is reported by information_schema.replica_host_status for each instance.
+   *
+   * @return replication lag in milliseconds, 0 if not found
+   * @throws SQLException if query fails
+   */
+  @Override
+  public long getReplicaLagMillis() throws SQLException {
+    proxy.lock.lock();
+    try {
+      Results results = new Results();
+      executeQuery(
+          false,
+          results,
+          "select replica_lag_in_milliseconds from information_schema.replica_host_status "
+              + "where server_id = @@aurora_server_id");
+      results.commandEnd();
+      ResultSet queryResult = results.getResultSet();
+      if (queryResult != null && queryResult.next()) {
+        return Math.max(0, (long) queryResult.getDouble(1));
+      }
+      return 0;
+    } finally {
+      proxy.lock.unlock();
+    }
+  }
 }
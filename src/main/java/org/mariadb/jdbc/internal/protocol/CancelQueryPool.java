@@ -0,0 +1,382 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol;
+
+import static org.mariadb.jdbc.internal.util.SqlStates.INTERRUPTED_EXCEPTION;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.io.LruTraceCache;
+import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+
+/**
+ * Shared connections used to send KILL QUERY commands, so cancelling a query doesn't need a new
+ * connection (handshake, authentication, TLS) each time.
+ *
+ * <p>There is one pool per connection url and host, with at most {@link #MAX_CONNECTIONS}
+ * connections. Cancel requests are queued: a thread that obtains a connection sends all pending
+ * requests together, so when many queries time out at the same time, KILL QUERY commands are
+ * batched instead of each opening a new connection.
+ *
+ * <p>Idle connections are closed by a task of the fixed size scheduler, and unused pools are
+ * removed.
+ */
+public class CancelQueryPool {
+
+  private static final int MAX_CONNECTIONS = 2;
+  // connection not used for this time are closed
+  private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+  // connection not used for this time are validated before use
+  private static final long VALIDATION_NANOS = TimeUnit.SECONDS.toNanos(5);
+  private static final long WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static final ConcurrentHashMap<List<Object>, CancelQueryPool> pools =
+      new ConcurrentHashMap<>();
+  private static ScheduledFuture<?> evictionTask;
+
+  private final UrlParser urlParser;
+  private final HostAddress hostAddress;
+  private final Semaphore senders = new Semaphore(MAX_CONNECTIONS);
+  private final ConcurrentLinkedDeque<IdleProtocol> idleProtocols = new ConcurrentLinkedDeque<>();
+  private final ConcurrentLinkedQueue<CancelRequest> pendingRequests =
+      new ConcurrentLinkedQueue<>();
+  private boolean closed;
+
+  private CancelQueryPool(UrlParser urlParser, HostAddress hostAddress) {
+    this.urlParser = urlParser;
+    this.hostAddress = hostAddress;
+  }
+
+  /**
+   * Kill current query of a connection, using a pooled connection.
+   *
+   * @param urlParser connection url of the connection to cancel
+   * @param hostAddress host of the connection to cancel
+   * @param threadId server thread id of the connection to cancel
+   * @throws SQLException if KILL QUERY command failed
+   */
+  public static void cancel(UrlParser urlParser, HostAddress hostAddress, long threadId)
+      throws SQLException {
+    pools
+        .computeIfAbsent(
+            Arrays.asList(urlParser, hostAddress),
+            key -> new CancelQueryPool(urlParser, hostAddress))
+        .cancel(threadId);
+  }
+
+  /** Close all pooled connections. */
+  public static void close() {
+    synchronized (CancelQueryPool.class) {
+      if (evictionTask != null) {
+        evictionTask.cancel(false);
+        evictionTask = null;
+      }
+    }
+    for (CancelQueryPool pool : pools.values()) {
+      pool.shutdown();
+    }
+    pools.clear();
+  }
+
+  /**
+   * Close connections idle for more than a minute, and remove unused pools.
+   *
+   * @param now current time in nanoseconds
+   */
+  public static void evictIdleConnections(long now) {
+    Iterator<CancelQueryPool> iterator = pools.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().closeIdle(now)) {
+        iterator.remove();
+      }
+    }
+    synchronized (CancelQueryPool.class) {
+      if (pools.isEmpty() && evictionTask != null) {
+        evictionTask.cancel(false);
+        evictionTask = null;
+      }
+    }
+  }
+
+  /**
+   * Count pooled connections.
+   *
+   * @return number of idle connections of all pools
+   */
+  public static int idleConnectionCount() {
+    int count = 0;
+    for (CancelQueryPool pool : pools.values()) {
+      count += pool.idleProtocols.size();
+    }
+    return count;
+  }
+
+  private static synchronized void scheduleEviction() {
+    // task is done if scheduler has been closed
+    if (evictionTask == null || evictionTask.isDone()) {
+      long interval = IDLE_TIMEOUT_NANOS / 2;
+      evictionTask =
+          SchedulerServiceProviderHolder.getFixedSizeScheduler(1, "MariaDb-cancel-pool")
+              .scheduleWithFixedDelay(
+                  () -> evictIdleConnections(System.nanoTime()),
+                  interval,
+                  interval,
+                  TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Close connections idle for more than a minute. If pool is then unused, it is closed.
+   *
+   * @param now current time in nanoseconds
+   * @return true if pool has been closed
+   */
+  private synchronized boolean closeIdle(long now) {
+    // most recently used connections are first
+    IdleProtocol idleProtocol;
+    while ((idleProtocol = idleProtocols.peekLast()) != null
+        && now - idleProtocol.lastUsed > IDLE_TIMEOUT_NANOS) {
+      // connection may just have been taken by a cancelling thread
+      if (idleProtocols.removeLastOccurrence(idleProtocol)) {
+        idleProtocol.protocol.close();
+      }
+    }
+    if (idleProtocols.isEmpty()
+        && pendingRequests.isEmpty()
+        && senders.availablePermits() == MAX_CONNECTIONS) {
+      closed = true;
+    }
+    return closed;
+  }
+
+  /** Close pool and its idle connections. Connections in use will be closed when released. */
+  private synchronized void shutdown() {
+    closed = true;
+    IdleProtocol idleProtocol;
+    while ((idleProtocol = idleProtocols.pollFirst()) != null) {
+      idleProtocol.protocol.close();
+    }
+  }
+
+  /**
+   * Return a connection to pool, or close it if pool has been closed.
+   *
+   * @param protocol connection
+   */
+  private void release(MasterProtocol protocol) {
+    synchronized (this) {
+      if (!closed) {
+        idleProtocols.addFirst(new IdleProtocol(protocol));
+        scheduleEviction();
+        return;
+      }
+    }
+    protocol.close();
+  }
+
+  private void cancel(long threadId) throws SQLException {
+    CancelRequest request = new CancelRequest(threadId);
+    pendingRequests.add(request);
+
+    while (!request.isDone()) {
+      boolean sent = false;
+      if (senders.tryAcquire()) {
+        try {
+          sent = sendPendingRequests();
+        } finally {
+          senders.release();
+        }
+      }
+
+      // request is being sent by another thread
+      if (!sent) {
+        try {
+          request.await(WAIT_NANOS);
+        } catch (InterruptedException interruptedException) {
+          Thread.currentThread().interrupt();
+          throw new SQLException(
+              "Interrupted during query cancellation",
+              INTERRUPTED_EXCEPTION.getSqlState(),
+              -1,
+              interruptedException);
+        }
+      }
+    }
+
+    if (request.error != null) {
+      throw request.error;
+    }
+  }
+
+  private boolean sendPendingRequests() {
+    List<CancelRequest> requests = new ArrayList<>();
+    CancelRequest request;
+    while ((request = pendingRequests.poll()) != null) {
+      requests.add(request);
+    }
+    if (requests.isEmpty()) {
+      return false;
+    }
+
+    long[] threadIds = new long[requests.size()];
+    for (int i = 0; i < threadIds.length; i++) {
+      threadIds[i] = requests.get(i).threadId;
+    }
+
+    SQLException[] errors;
+    try {
+      errors = killQueries(threadIds);
+    } catch (SQLException sqle) {
+      errors = new SQLException[threadIds.length];
+      for (int i = 0; i < errors.length; i++) {
+        errors[i] = sqle;
+      }
+    }
+
+    for (int i = 0; i < errors.length; i++) {
+      requests.get(i).done(errors[i]);
+    }
+    return true;
+  }
+
+  private SQLException[] killQueries(long[] threadIds) throws SQLException {
+    MasterProtocol protocol = null;
+    IdleProtocol idleProtocol;
+    while (protocol == null && (idleProtocol = idleProtocols.pollFirst()) != null) {
+      long idleTime = System.nanoTime() - idleProtocol.lastUsed;
+      if (idleTime > IDLE_TIMEOUT_NANOS) {
+        idleProtocol.protocol.close();
+      } else if (idleTime > VALIDATION_NANOS && !isValid(idleProtocol.protocol)) {
+        // connection may have been closed by server. KILL QUERY is not retried on another
+        // connection after a failure, since it may already have been executed.
+        idleProtocol.protocol.close();
+      } else {
+        protocol = idleProtocol.protocol;
+      }
+    }
+
+    if (protocol == null) {
+      LruTraceCache traceCache =
+          urlParser.getOptions().enablePacketDebug ? new LruTraceCache() : null;
+      protocol =
+          new MasterProtocol(urlParser, new GlobalStateInfo(), new ReentrantLock(), traceCache);
+      protocol.setHostAddress(hostAddress);
+      protocol.connect();
+    }
+
+    try {
+      SQLException[] errors = protocol.killQueries(threadIds);
+      release(protocol);
+      return errors;
+    } catch (SQLException sqle) {
+      protocol.close();
+      throw sqle;
+    }
+  }
+
+  private static boolean isValid(MasterProtocol protocol) {
+    try {
+      return protocol.ping();
+    } catch (SQLException sqle) {
+      return false;
+    }
+  }
+
+  private static class IdleProtocol {
+
+    private final MasterProtocol protocol;
+    private final long lastUsed = System.nanoTime();
+
+    private IdleProtocol(MasterProtocol protocol) {
+      this.protocol = protocol;
+    }
+  }
+
+  private static class CancelRequest {
+
+    private final long threadId;
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile SQLException error;
+
+    private CancelRequest(long threadId) {
+      this.threadId = threadId;
+    }
+
+    private void done(SQLException error) {
+      this.error = error;
+      latch.countDown();
+    }
+
+    private boolean isDone() {
+      return latch.getCount() == 0;
+    }
+
+    private void await(long nanos) throws InterruptedException {
+      latch.await(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
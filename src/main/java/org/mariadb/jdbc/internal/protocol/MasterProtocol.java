@@ -136,6 +136,10 @@ public class MasterProtocol extends AbstractQueryProtocol implements Closeable {
           loopAddresses.addAll(listener.getUrlParser().getHostAddresses());
           host = loopAddresses.pollFirst();
         }
+        if (searchFilter.isFailoverLoop() && !listener.claimHostProbe(host)) {
+          // blacklisted host already being probed by another connection, or still in backoff
+          continue;
+        }
         protocol.setHostAddress(host);
         protocol.connect();
         if (listener.isExplicitClosed()) {
@@ -116,6 +116,9 @@ public class MastersSlavesProtocol extends MasterProtocol {
           host = loopAddresses.pollFirst();
         }
 
+        if (searchFilter.isFailoverLoop() && !listener.claimHostProbe(host)) {
+          continue;
+        }
         protocol.setHostAddress(host);
 
         protocol.connect();
@@ -131,7 +134,9 @@ public class MastersSlavesProtocol extends MasterProtocol {
             return;
           }
         } else if (listener.isSecondaryHostFailReconnect() && !protocol.isMasterConnection()) {
-          if (foundSecondary(listener, protocol, searchFilter)) {
+          if (listener.isReplicaLagging(protocol)) {
+            protocol.close();
+          } else if (foundSecondary(listener, protocol, searchFilter)) {
             return;
           }
         } else {
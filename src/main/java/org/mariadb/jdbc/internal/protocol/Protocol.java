@@ -105,6 +105,12 @@ public interface Protocol {
 
   void reset() throws SQLException;
 
+  void resetPipelined(
+      boolean comReset, Boolean autocommit, boolean resetDatabase, Integer transactionIsolation)
+      throws SQLException;
+
+  void readPendingResetResults() throws SQLException;
+
   void closeExplicit();
 
   boolean isClosed();
@@ -174,7 +180,8 @@ public interface Protocol {
       Results results,
       final ClientPrepareResult prepareResult,
       final List<ParameterHolder[]> parametersList,
-      boolean hasLongData)
+      boolean hasLongData,
+      int queryTimeout)
       throws SQLException;
 
   void executeBatchStmt(boolean mustExecuteOnMaster, Results results, final List<String> queries)
@@ -187,6 +194,10 @@ public interface Protocol {
       ParameterHolder[] parameters)
       throws SQLException;
 
+  ServerPrepareResult prepareAndExecute(
+      boolean mustExecuteOnMaster, String sql, Results results, ParameterHolder[] parameters)
+      throws SQLException;
+
   boolean executeBatchServer(
       boolean mustExecuteOnMaster,
       ServerPrepareResult serverPrepareResult,
@@ -198,6 +209,10 @@ public interface Protocol {
 
   void getResult(Results results) throws SQLException;
 
+  void fetchCursorRows(ServerPrepareResult serverPrepareResult, int fetchSize) throws SQLException;
+
+  void closeCursor(ServerPrepareResult serverPrepareResult) throws SQLException;
+
   void cancelCurrentQuery() throws SQLException;
 
   void interrupt();
@@ -206,6 +221,8 @@ public interface Protocol {
 
   boolean checkIfMaster() throws SQLException;
 
+  long getReplicaLagMillis() throws SQLException;
+
   boolean hasWarnings();
 
   long getMaxRows();
@@ -22,6 +22,7 @@
 
 package org.mariadb.jdbc.internal.protocol.tls;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -34,6 +35,10 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.net.ssl.*;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -44,6 +49,14 @@ import org.mariadb.jdbc.util.Options;
 public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
   private static final Logger logger = LoggerFactory.getLogger(DefaultTlsSocketPlugin.class);
 
+  /**
+   * SSL contexts by TLS configuration. Sharing a context avoids reloading key/trust stores, and
+   * permits TLS session resumption, since sessions are cached by context. A context is created
+   * again when a key store, trust store or certificate file has been modified.
+   */
+  private static final ConcurrentMap<List<Object>, CachedContext> sslContexts =
+      new ConcurrentHashMap<>();
+
   private static KeyManager loadClientCerts(
       String keyStoreUrl, String keyStorePassword, String keyPassword, String storeType)
       throws SQLException {
@@ -94,9 +107,83 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     return "DEFAULT";
   }
 
+  /** Clear cached SSL contexts, so key and trust stores are reloaded on next connection. */
+  public static void clearCache() {
+    sslContexts.clear();
+  }
+
   @Override
   public SSLSocketFactory getSocketFactory(Options options) throws SQLException {
+    return getContext(options).getSocketFactory();
+  }
+
+  /**
+   * Get SSL context of a TLS configuration, creating it if needed. Key includes system properties
+   * read by default key and trust managers. Context is created again if files it has been loaded
+   * from have been modified since, so rotated certificates are used by next connections.
+   *
+   * @param options connection options
+   * @return shared SSL context
+   * @throws SQLException if context cannot be created
+   */
+  static SSLContext getContext(Options options) throws SQLException {
+    List<Object> key =
+        Arrays.asList(
+            options.trustServerCertificate,
+            options.serverSslCert,
+            options.trustStore,
+            options.trustStorePassword,
+            options.trustStoreType,
+            options.keyStore,
+            options.keyStorePassword,
+            options.keyPassword,
+            options.keyStoreType,
+            System.getProperty("javax.net.ssl.keyStore"),
+            System.getProperty("javax.net.ssl.keyStorePassword"),
+            System.getProperty("javax.net.ssl.keyStoreType"),
+            System.getProperty("javax.net.ssl.trustStore"),
+            System.getProperty("javax.net.ssl.trustStorePassword"),
+            System.getProperty("javax.net.ssl.trustStoreType"));
+
+    List<Long> modifications =
+        Arrays.asList(
+            lastModified(options.serverSslCert),
+            lastModified(options.trustStore),
+            lastModified(options.keyStore),
+            lastModified(System.getProperty("javax.net.ssl.keyStore")),
+            lastModified(System.getProperty("javax.net.ssl.trustStore")));
+
+    CachedContext cached = sslContexts.get(key);
+    if (cached == null || !cached.modifications.equals(modifications)) {
+      cached = new CachedContext(modifications, createContext(options));
+      sslContexts.put(key, cached);
+    }
+    return cached.sslContext;
+  }
 
+  /**
+   * Get last modification time of a file option.
+   *
+   * @param location file path or URL, classpath resource or verbatim certificate
+   * @return last modification time, 0 if not a file or file doesn't exist
+   */
+  private static long lastModified(String location) {
+    if (location == null
+        || location.startsWith("-----BEGIN")
+        || location.startsWith("classpath:")) {
+      return 0;
+    }
+    try {
+      File file =
+          location.startsWith("file:") ? new File(new URL(location).toURI()) : new File(location);
+      return file.lastModified();
+    } catch (Exception e) {
+      // not a file
+      return 0;
+    }
+  }
+
+  private static SSLContext createContext(Options options) throws SQLException {
     TrustManager[] trustManager = null;
     KeyManager[] keyManager = null;
 
@@ -134,7 +221,7 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     try {
       SSLContext sslContext = SSLContext.getInstance("TLS");
       sslContext.init(keyManager, trustManager, null);
-      return sslContext.getSocketFactory();
+      return sslContext;
     } catch (KeyManagementException keyManagementEx) {
       throw ExceptionFactory.INSTANCE.create(
           "Could not initialize SSL context", "08000", keyManagementEx);
@@ -157,4 +244,14 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
       hostnameVerifier.verify(host, cert, serverThreadId);
     }
   }
+
+  private static final class CachedContext {
+    private final List<Long> modifications;
+    private final SSLContext sslContext;
+
+    private CachedContext(List<Long> modifications, SSLContext sslContext) {
+      this.modifications = modifications;
+      this.sslContext = sslContext;
+    }
+  }
 }
@@ -0,0 +1,209 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.mariadb.jdbc.UrlParser;
+
+/**
+ * Results cache shared by all connections with the same configuration (i.e. by connections of a
+ * same pool). Results expire after a time-to-live, and least recently used results are evicted when
+ * total entry weight exceeds maximum weight.
+ *
+ * <p>Invalidation increments a generation, so a result retrieved concurrently with an invalidation
+ * is not cached.
+ *
+ * @param <E> cached entry type
+ */
+public abstract class AbstractSharedCache<E extends AbstractSharedCache.Entry> {
+
+  private final long ttlNanos;
+  private final long maxWeight;
+  private final Map<String, E> results;
+  private long usedWeight;
+  private long generation;
+  private volatile long lastUsedNanos;
+
+  protected AbstractSharedCache(long ttlNanos, long maxWeight) {
+    this.ttlNanos = ttlNanos;
+    this.maxWeight = maxWeight;
+    this.results = new LinkedHashMap<>(16, .75f, true);
+  }
+
+  /**
+   * Get cached entry.
+   *
+   * @param key key
+   * @return cached entry, or null if not cached or expired
+   */
+  protected synchronized E getEntry(String key) {
+    E entry = results.get(key);
+    if (entry != null && System.nanoTime() - entry.creationNanos >= ttlNanos) {
+      results.remove(key);
+      usedWeight -= entry.weight;
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Cache an entry, evicting least recently used entries if needed. Entries heavier than maximum
+   * weight are not cached.
+   *
+   * @param key key
+   * @param generation generation read before executing query
+   * @param entry entry
+   */
+  protected synchronized void putEntry(String key, long generation, E entry) {
+    if (generation != this.generation || entry.weight > maxWeight) {
+      return;
+    }
+    E previous = results.put(key, entry);
+    if (previous != null) {
+      usedWeight -= previous.weight;
+    }
+    usedWeight += entry.weight;
+
+    Iterator<E> iterator = results.values().iterator();
+    while (usedWeight > maxWeight) {
+      usedWeight -= iterator.next().weight;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Get current generation, to be read before executing a query, so a result retrieved
+   * concurrently with an invalidation is not cached.
+   *
+   * @return current generation
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /** Invalidate all cached results. */
+  public synchronized void invalidate() {
+    generation++;
+    results.clear();
+    usedWeight = 0;
+  }
+
+  private boolean isUnused(long now) {
+    return now - lastUsedNanos > ttlNanos;
+  }
+
+  /**
+   * Caches of each configuration. Caches not used for longer than their time-to-live only contain
+   * expired results, and are removed.
+   *
+   * @param <C> cache type
+   */
+  static final class Registry<C extends AbstractSharedCache<?>> {
+
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ConcurrentMap<UrlParser, C> caches = new ConcurrentHashMap<>();
+    private final Function<UrlParser, C> factory;
+    private volatile long nextPruneNanos = System.nanoTime() + PRUNE_INTERVAL_NANOS;
+
+    Registry(Function<UrlParser, C> factory) {
+      this.factory = factory;
+    }
+
+    /**
+     * Get cache of a configuration, creating it if needed.
+     *
+     * @param urlParser connection configuration
+     * @return shared cache
+     */
+    C get(UrlParser urlParser) {
+      long now = System.nanoTime();
+      if (now - nextPruneNanos > 0) {
+        nextPruneNanos = now + PRUNE_INTERVAL_NANOS;
+        prune(now);
+      }
+      C cache = caches.computeIfAbsent(urlParser, factory);
+      ((AbstractSharedCache<?>) cache).lastUsedNanos = now;
+      return cache;
+    }
+
+    /**
+     * Remove caches unused for longer than their time-to-live.
+     *
+     * @param now current time in nanoseconds
+     */
+    void prune(long now) {
+      caches.values().removeIf(cache -> ((AbstractSharedCache<?>) cache).isUnused(now));
+    }
+
+    /** Remove all caches. */
+    void clear() {
+      caches.clear();
+    }
+  }
+
+  public abstract static class Entry {
+    final long creationNanos = System.nanoTime();
+    final long weight;
+
+    protected Entry(long weight) {
+      this.weight = weight;
+    }
+  }
+}
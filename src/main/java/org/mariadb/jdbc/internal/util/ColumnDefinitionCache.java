@@ -0,0 +1,138 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.mariadb.jdbc.internal.com.read.Buffer;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+/**
+ * Column definitions received by a connection, by raw column definition packet. Identical
+ * definitions received again reuse the same ColumnDefinition, with names already decoded, so
+ * packets can be read in a reusable buffer.
+ */
+public class ColumnDefinitionCache
+    extends LinkedHashMap<ColumnDefinitionCache.Key, ColumnDefinition> {
+
+  private static final long serialVersionUID = -2953124185637436927L;
+  private static final int MAX_SIZE = 256;
+
+  public ColumnDefinitionCache() {
+    super(16, .75f, true);
+  }
+
+  /**
+   * Get column definition corresponding to raw packet, creating it if not cached. Buffer content is
+   * copied when cached, so buffer can be reused afterward.
+   *
+   * @param buffer column definition packet
+   * @return column definition
+   */
+  public ColumnDefinition get(Buffer buffer) {
+    ColumnDefinition column = get(new Key(buffer.buf, buffer.limit));
+    if (column == null) {
+      byte[] packet = Arrays.copyOf(buffer.buf, buffer.limit);
+      column = new ColumnDefinition(new Buffer(packet));
+      put(new Key(packet, packet.length), column);
+    }
+    return column;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<Key, ColumnDefinition> eldest) {
+    return this.size() > MAX_SIZE;
+  }
+
+  static final class Key {
+    private final byte[] buf;
+    private final int limit;
+    private final int hash;
+
+    Key(byte[] buf, int limit) {
+      this.buf = buf;
+      this.limit = limit;
+      int result = 1;
+      for (int i = 0; i < limit; i++) {
+        result = 31 * result + buf[i];
+      }
+      this.hash = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      if (limit != key.limit || hash != key.hash) {
+        return false;
+      }
+      for (int i = 0; i < limit; i++) {
+        if (buf[i] != key.buf[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
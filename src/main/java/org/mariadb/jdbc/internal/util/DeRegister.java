@@ -17,6 +17,7 @@
 package org.mariadb.jdbc.internal.util;
 
 import java.sql.DriverAction;
+import org.mariadb.jdbc.internal.protocol.CancelQueryPool;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 
 public class DeRegister implements DriverAction {
@@ -24,5 +25,6 @@ public class DeRegister implements DriverAction {
   @Override
   public void deregister() {
     SchedulerServiceProviderHolder.close();
+    CancelQueryPool.close();
   }
 }
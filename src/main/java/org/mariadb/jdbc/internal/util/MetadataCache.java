@@ -0,0 +1,152 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+/**
+ * DatabaseMetaData results cache, shared by all connections with the same configuration (i.e. by
+ * connections of a same pool). Results expire after "metadataCacheTtl" seconds, and are
+ * invalidated when connections execute DDL. Caches not used for longer than their time-to-live only
+ * contain expired results, and are removed.
+ */
+public class MetadataCache extends AbstractSharedCache<MetadataCache.Entry> {
+
+  private static final int MAX_ENTRIES = 1000;
+  private static final Registry<MetadataCache> caches =
+      new Registry<>(
+          key -> new MetadataCache(TimeUnit.SECONDS.toNanos(key.getOptions().metadataCacheTtl)));
+
+  private MetadataCache(long ttlNanos) {
+    super(ttlNanos, MAX_ENTRIES);
+  }
+
+  /**
+   * Get metadata cache of a configuration, creating it if needed.
+   *
+   * @param urlParser connection configuration
+   * @return shared metadata cache
+   */
+  public static MetadataCache get(UrlParser urlParser) {
+    return caches.get(urlParser);
+  }
+
+  /**
+   * Remove caches unused for longer than their time-to-live.
+   *
+   * @param now current time in nanoseconds
+   */
+  static void prune(long now) {
+    caches.prune(now);
+  }
+
+  /** Clear all metadata caches. */
+  public static void clear() {
+    caches.clear();
+  }
+
+  private static String key(String database, String sql) {
+    return (database == null ? "" : database) + '\0' + sql;
+  }
+
+  /**
+   * Get cached result.
+   *
+   * @param database current database
+   * @param sql metadata query
+   * @return cached result, or null if not cached or expired
+   */
+  public Entry get(String database, String sql) {
+    return getEntry(key(database, sql));
+  }
+
+  /**
+   * Cache a result.
+   *
+   * @param database current database
+   * @param sql metadata query
+   * @param generation generation read before executing query
+   * @param columns result columns
+   * @param rows result rows
+   */
+  public void put(
+      String database,
+      String sql,
+      long generation,
+      ColumnDefinition[] columns,
+      List<byte[]> rows) {
+    putEntry(key(database, sql), generation, new Entry(columns, rows));
+  }
+
+  public static final class Entry extends AbstractSharedCache.Entry {
+    private final ColumnDefinition[] columns;
+    private final List<byte[]> rows;
+
+    private Entry(ColumnDefinition[] columns, List<byte[]> rows) {
+      super(1);
+      this.columns = columns;
+      this.rows = rows;
+    }
+
+    public ColumnDefinition[] getColumns() {
+      return columns;
+    }
+
+    public List<byte[]> getRows() {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * Query results cache, shared by all connections with the same configuration (i.e. by connections
+ * of a same pool). Results expire after "resultCacheTtl" seconds, and least recently used results
+ * are evicted when cached rows exceed "resultCacheMaxBytes".
+ *
+ * <p>Only read-only queries are cached, and results are invalidated when connections sharing the
+ * cache execute other commands. Data changed by other clients are not detected: cache is intended
+ * for reference data.
+ */
+public class ResultCache extends AbstractSharedCache<ResultCache.Entry> {
+
+  // approximate memory used by a cached entry, a row, and a column definition
+  private static final int ENTRY_OVERHEAD = 128;
+  private static final int ROW_OVERHEAD = 24;
+  private static final int COLUMN_OVERHEAD = 128;
+
+  private static final Registry<ResultCache> caches =
+      new Registry<>(
+          key ->
+              new ResultCache(
+                  TimeUnit.SECONDS.toNanos(key.getOptions().resultCacheTtl),
+                  key.getOptions().resultCacheMaxBytes));
+
+  private ResultCache(long ttlNanos, long maxBytes) {
+    super(ttlNanos, maxBytes);
+  }
+
+  /**
+   * Get result cache of a configuration, creating it if needed.
+   *
+   * @param urlParser connection configuration
+   * @return shared result cache
+   */
+  public static ResultCache get(UrlParser urlParser) {
+    return caches.get(urlParser);
+  }
+
+  /** Clear all result caches. */
+  public static void clear() {
+    caches.clear();
+  }
+
+  /**
+   * Build cache key of a query. Parameters are serialized like they are sent using text protocol,
+   * so key identify the query that server would execute.
+   *
+   * @param database current database
+   * @param maxRows statement max rows
+   * @param sql query
+   * @param parameters parameters, or null for a query without parameters
+   * @param binaryFormat are rows in binary format
+   * @param options connection options
+   * @return cache key, or null if query result can't be cached
+   */
+  public static String key(
+      String database,
+      long maxRows,
+      String sql,
+      ParameterHolder[] parameters,
+      boolean binaryFormat,
+      Options options) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(binaryFormat ? 'B' : 'T')
+        .append(maxRows)
+        .append('\0')
+        .append(database == null ? "" : database)
+        .append('\0')
+        .append(sql.trim());
+    if (parameters != null && parameters.length > 0) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      PacketOutputStream pos = new StandardPacketOutputStream(baos, options, 0);
+      try {
+        pos.startPacket(0);
+        for (ParameterHolder parameter : parameters) {
+          // streams can only be read once
+          if (parameter == null || parameter.isLongData()) {
+            return null;
+          }
+          parameter.writeTo(pos);
+          pos.write(',');
+        }
+        pos.flush();
+      } catch (IOException ioe) {
+        return null;
+      }
+      sb.append('\0').append(new String(baos.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
+    return sb.toString();
+  }
+
+  private static long size(String key, ColumnDefinition[] columns, List<byte[]> rows) {
+    long size = ENTRY_OVERHEAD + 2L * key.length() + (long) COLUMN_OVERHEAD * columns.length;
+    for (byte[] row : rows) {
+      size += ROW_OVERHEAD + row.length;
+    }
+    return size;
+  }
+
+  /**
+   * Get cached result.
+   *
+   * @param key query key
+   * @return cached result, or null if not cached or expired
+   */
+  public Entry get(String key) {
+    return getEntry(key);
+  }
+
+  /**
+   * Cache a result, evicting least recently used results if needed. Results bigger than maximum
+   * cache size are not cached.
+   *
+   * @param key query key
+   * @param generation generation read before executing query
+   * @param columns result columns
+   * @param rows result rows
+   * @param binaryFormat are rows in binary format
+   */
+  public void put(
+      String key,
+      long generation,
+      ColumnDefinition[] columns,
+      List<byte[]> rows,
+      boolean binaryFormat) {
+    putEntry(key, generation, new Entry(columns, rows, binaryFormat, size(key, columns, rows)));
+  }
+
+  public static final class Entry extends AbstractSharedCache.Entry {
+    private final ColumnDefinition[] columns;
+    private final List<byte[]> rows;
+    private final boolean binaryFormat;
+
+    private Entry(ColumnDefinition[] columns, List<byte[]> rows, boolean binaryFormat, long size) {
+      super(size);
+      this.columns = columns;
+      this.rows = rows;
+      this.binaryFormat = binaryFormat;
+    }
+
+    public ColumnDefinition[] getColumns() {
+      return columns;
+    }
+
+    public List<byte[]> getRows() {
+      return rows;
+    }
+
+    public boolean isBinaryFormat() {
+      return binaryFormat;
+    }
+  }
+}
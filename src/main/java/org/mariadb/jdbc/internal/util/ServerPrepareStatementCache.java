@@ -86,7 +86,7 @@ public final class ServerPrepareStatementCache extends LinkedHashMap<String, Ser
     if (mustBeRemoved) {
       ServerPrepareResult serverPrepareResult = ((ServerPrepareResult) eldest.getValue());
       serverPrepareResult.setRemoveFromCache();
-      if (serverPrepareResult.canBeDeallocate()) {
+      if (serverPrepareResult.canBeDeallocate() && !serverPrepareResult.isReprepareNeeded()) {
         try {
           protocol.forceReleasePrepareStatement(serverPrepareResult.getStatementId());
         } catch (SQLException e) {
@@ -109,16 +109,32 @@ public final class ServerPrepareStatementCache extends LinkedHashMap<String, Ser
    */
   public synchronized ServerPrepareResult put(String key, ServerPrepareResult result) {
     ServerPrepareResult cachedServerPrepareResult = super.get(key);
-    // if there is already some cached data (and not been deallocate), return existing cached data
-    if (cachedServerPrepareResult != null && cachedServerPrepareResult.incrementShareCounter()) {
+    // if there is already some cached data (and not been deallocate or closed by a connection
+    // reset), return existing cached data
+    if (cachedServerPrepareResult != null
+        && !cachedServerPrepareResult.isReprepareNeeded()
+        && cachedServerPrepareResult.incrementShareCounter()) {
       return cachedServerPrepareResult;
     }
+    if (cachedServerPrepareResult != null) {
+      cachedServerPrepareResult.setRemoveFromCache();
+    }
     // if no cache data, or been deallocate, put new result in cache
     result.setAddToCache();
     super.put(key, result);
     return null;
   }
 
+  /**
+   * Mark all cached statements as closed on server, after a COM_RESET_CONNECTION. Entries are kept,
+   * and statements are prepared again on next use.
+   */
+  public synchronized void setReprepareNeeded() {
+    for (ServerPrepareResult serverPrepareResult : values()) {
+      serverPrepareResult.setReprepareNeeded();
+    }
+  }
+
   @Override
   public String toString() {
     StringBuilder stringBuilder = new StringBuilder("ServerPrepareStatementCache.map[");
@@ -100,6 +100,19 @@ public class Utils {
           "^(([0-9A-Fa-f]{1,4}(:[0-9A-Fa-f]{1,4}){0,5})?)"
               + "::(([0-9A-Fa-f]{1,4}(:[0-9A-Fa-f]{1,4}){0,5})?)$");
 
+  private static final Pattern DDL =
+      Pattern.compile(
+          "^(\\s*\\/\\*([^\\*]|\\*[^\\/])*\\*\\/)*\\s*"
+              + "(CREATE|ALTER|DROP|RENAME|TRUNCATE|GRANT|REVOKE)\\b",
+          Pattern.CASE_INSENSITIVE);
+  private static final Pattern READ_ONLY =
+      Pattern.compile(
+          "^(\\s*\\/\\*([^\\*]|\\*[^\\/])*\\*\\/)*\\s*"
+              + "(SELECT|WITH|SHOW|DESC|DESCRIBE|EXPLAIN)\\b",
+          Pattern.CASE_INSENSITIVE);
+  private static final Pattern READ_WITH_EFFECT =
+      Pattern.compile(
+          "\\b(FOR\\s+UPDATE|LOCK\\s+IN\\s+SHARE\\s+MODE|INTO)\\b", Pattern.CASE_INSENSITIVE);
   private static final SocketHandlerFunction socketHandler;
 
   static {
@@ -465,6 +478,20 @@ public class Utils {
     throw new SQLException("unknown escape sequence " + escaped);
   }
 
+  /**
+   * Wrap query so server aborts it after timeout, using max_statement_time (MariaDB 10.1.2+).
+   *
+   * @param sql query
+   * @param queryTimeout timeout in seconds. 0 if none
+   * @return query with timeout
+   */
+  public static String timeoutSql(String sql, int queryTimeout) {
+    if (queryTimeout > 0) {
+      return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR " + sql;
+    }
+    return sql;
+  }
+
   /**
    * Escape sql String.
    *
@@ -1048,6 +1075,59 @@ public class Utils {
     return false;
   }
 
+  /**
+   * Indicate if query is a DDL command that may change DatabaseMetaData results.
+   *
+   * @param sql sql command
+   * @return true if query starts with a DDL keyword
+   */
+  public static boolean isDdl(String sql) {
+    return DDL.matcher(sql).find();
+  }
+
+  /**
+   * Indicate if query only reads data: query starts with a read keyword, and doesn't lock rows or
+   * write result to a variable or file.
+   *
+   * @param sql sql command
+   * @return true if query is read-only
+   */
+  public static boolean isReadOnlyQuery(String sql) {
+    return READ_ONLY.matcher(sql).find() && !READ_WITH_EFFECT.matcher(sql).find();
+  }
+
+  /**
+   * Compute the UTF-8 encoded length of a string without encoding it. Unpaired surrogates count as
+   * one byte, since they are replaced by a single character when encoded.
+   *
+   * @param str string
+   * @return UTF-8 encoded length in bytes
+   */
+  public static int utf8Length(String str) {
+    int len = str.length();
+    int bytes = len;
+    for (int i = 0; i < len; i++) {
+      char currChar = str.charAt(i);
+      if (currChar >= 0x80) {
+        if (currChar < 0x800) {
+          bytes++;
+        } else if (currChar >= 0xD800 && currChar < 0xE000) {
+          if (currChar < 0xDC00
+              && i + 1 < len
+              && str.charAt(i + 1) >= 0xDC00
+              && str.charAt(i + 1) < 0xE000) {
+            // surrogate pair : 2 characters encoded in 4 bytes
+            bytes += 2;
+            i++;
+          }
+        } else {
+          bytes += 2;
+        }
+      }
+    }
+    return bytes;
+  }
+
   private enum Parse {
     Normal,
     String, /* inside string */
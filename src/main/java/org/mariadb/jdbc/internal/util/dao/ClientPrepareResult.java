@@ -328,6 +328,122 @@ public class ClientPrepareResult implements PrepareResult {
     return state != LexState.EOLComment && !endingSemicolon;
   }
 
+  /**
+   * Indicate if query contains more than one command: a semicolon that is not in a string, an
+   * identifier or a comment, followed by something else than spaces and comments.
+   *
+   * @param queryString query
+   * @param noBackslashEscapes escape mode
+   * @return true if query contains multiple commands
+   */
+  public static boolean isMultiQuery(String queryString, boolean noBackslashEscapes) {
+
+    LexState state = LexState.Normal;
+    char lastChar = '\0';
+
+    boolean singleQuotes = false;
+    boolean semicolon = false;
+    char[] query = queryString.toCharArray();
+
+    for (char car : query) {
+
+      if (state == LexState.Escape
+          && !((car == '\'' && singleQuotes) || (car == '"' && !singleQuotes))) {
+        state = LexState.String;
+        lastChar = car;
+        continue;
+      }
+
+      if (semicolon
+          && state == LexState.Normal
+          && car > ' '
+          && car != ';'
+          && car != '-'
+          && car != '/'
+          && car != '#'
+          && !(car == '*' && lastChar == '/')) {
+        return true;
+      }
+
+      switch (car) {
+        case '*':
+          if (state == LexState.Normal && lastChar == '/') {
+            state = LexState.SlashStarComment;
+          }
+          break;
+
+        case '/':
+          if (state == LexState.SlashStarComment && lastChar == '*') {
+            state = LexState.Normal;
+          }
+          break;
+
+        case '#':
+          if (state == LexState.Normal) {
+            state = LexState.EOLComment;
+          }
+          break;
+
+        case '-':
+          if (state == LexState.Normal && lastChar == '-') {
+            state = LexState.EOLComment;
+          }
+          break;
+        case ';':
+          if (state == LexState.Normal) {
+            semicolon = true;
+          }
+          break;
+        case '\n':
+          if (state == LexState.EOLComment) {
+            state = LexState.Normal;
+          }
+          break;
+        case '"':
+          if (state == LexState.Normal) {
+            state = LexState.String;
+            singleQuotes = false;
+          } else if (state == LexState.String && !singleQuotes) {
+            state = LexState.Normal;
+          } else if (state == LexState.Escape && !singleQuotes) {
+            state = LexState.String;
+          }
+          break;
+
+        case '\'':
+          if (state == LexState.Normal) {
+            state = LexState.String;
+            singleQuotes = true;
+          } else if (state == LexState.String && singleQuotes) {
+            state = LexState.Normal;
+          } else if (state == LexState.Escape && singleQuotes) {
+            state = LexState.String;
+          }
+          break;
+
+        case '\\':
+          if (noBackslashEscapes) {
+            break;
+          }
+          if (state == LexState.String) {
+            state = LexState.Escape;
+          }
+          break;
+        case '`':
+          if (state == LexState.Backtick) {
+            state = LexState.Normal;
+          } else if (state == LexState.Normal) {
+            state = LexState.Backtick;
+          }
+          break;
+        default:
+          break;
+      }
+      lastChar = car;
+    }
+    return false;
+  }
+
   /**
    * Separate query in a String list and set flag isQueryMultiValuesRewritable The parameters "?"
    * (not in comments) emplacements are to be known.
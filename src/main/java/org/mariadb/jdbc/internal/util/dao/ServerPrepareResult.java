@@ -55,11 +55,12 @@ package org.mariadb.jdbc.internal.util.dao;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 
 public class ServerPrepareResult implements PrepareResult {
 
-  private final ColumnDefinition[] columns;
+  private volatile ColumnDefinition[] columns;
   private final ColumnDefinition[] parameters;
   private final String sql;
   private final AtomicBoolean inCache = new AtomicBoolean();
@@ -69,6 +70,8 @@ public class ServerPrepareResult implements PrepareResult {
   // share indicator
   private volatile int shareCounter = 1;
   private volatile boolean isBeingDeallocate;
+  private volatile boolean reprepareNeeded;
+  private SelectResultSet cursorResultSet;
 
   /**
    * PrepareStatement Result object.
@@ -109,6 +112,44 @@ public class ServerPrepareResult implements PrepareResult {
     this.parameterTypeHeader = new ColumnType[parameters.length];
     this.shareCounter = 1;
     this.isBeingDeallocate = false;
+    this.reprepareNeeded = false;
+  }
+
+  /**
+   * Indicate that statement has been closed on server by a COM_RESET_CONNECTION. Metadata are kept,
+   * statement must be prepared again before next execution.
+   */
+  public void setReprepareNeeded() {
+    this.reprepareNeeded = true;
+  }
+
+  public boolean isReprepareNeeded() {
+    return reprepareNeeded;
+  }
+
+  /**
+   * Update information after statement has been prepared again on the same connection.
+   *
+   * @param statementId new statement Id
+   */
+  public void reprepared(int statementId) {
+    this.statementId = statementId;
+    this.parameterTypeHeader = new ColumnType[parameters.length];
+    this.reprepareNeeded = false;
+  }
+
+  /**
+   * Result-set reading rows of a server cursor opened on this statement, if any. Server closes the
+   * cursor when statement is executed again.
+   *
+   * @return result-set using cursor, or null
+   */
+  public SelectResultSet getCursorResultSet() {
+    return cursorResultSet;
+  }
+
+  public void setCursorResultSet(SelectResultSet cursorResultSet) {
+    this.cursorResultSet = cursorResultSet;
   }
 
   public void setAddToCache() {
@@ -172,6 +213,16 @@ public class ServerPrepareResult implements PrepareResult {
     return columns;
   }
 
+  /**
+   * Update result-set columns, when server sends new column definitions when executing statement.
+   * Server can skip next column definitions if they don't change (MARIADB_CLIENT_CACHE_METADATA).
+   *
+   * @param columns columns information
+   */
+  public void setColumns(ColumnDefinition[] columns) {
+    this.columns = columns;
+  }
+
   public ColumnDefinition[] getParameters() {
     return parameters;
   }
@@ -267,6 +267,9 @@ public class Pool implements AutoCloseable, PoolMBean {
       if (item != null) {
         MariaDbConnection connection = item.getConnection();
         try {
+          // read results of reset sent when connection was released
+          connection.completeReset();
+
           if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastUsed().get())
               > options.poolValidMinDelay) {
 
@@ -58,6 +58,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class MariaDbThreadFactory implements ThreadFactory {
 
+  // virtual thread factory if runtime permits it (java 21+), loaded by reflection
+  private static final ThreadFactory VIRTUAL_FACTORY = loadVirtualFactory();
+
+  // permit enabling virtual threads without code change
+  private static volatile boolean useVirtualThreads =
+      VIRTUAL_FACTORY != null
+          && Boolean.parseBoolean(System.getProperty("mariadb.useVirtualThreads"));
+
   // start from DefaultThread factory to get security groups and what not
   private final ThreadFactory parentFactory = Executors.defaultThreadFactory();
   private final AtomicInteger threadId = new AtomicInteger();
@@ -67,8 +75,38 @@ public class MariaDbThreadFactory implements ThreadFactory {
     this.threadName = threadName;
   }
 
+  private static ThreadFactory loadVirtualFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory)
+          Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (Exception e) {
+      // java < 21, or preview not enabled
+      return null;
+    }
+  }
+
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_FACTORY != null;
+  }
+
+  static void setUseVirtualThreads(boolean useVirtualThreads) {
+    MariaDbThreadFactory.useVirtualThreads = useVirtualThreads && VIRTUAL_FACTORY != null;
+  }
+
+  public static boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
   @Override
   public Thread newThread(Runnable runnable) {
+    if (useVirtualThreads) {
+      // virtual threads are always daemon
+      Thread result = VIRTUAL_FACTORY.newThread(runnable);
+      result.setName(threadName + "-" + threadId.incrementAndGet());
+      return result;
+    }
+
     Thread result = parentFactory.newThread(runnable);
     result.setName(threadName + "-" + threadId.incrementAndGet());
     result.setDaemon(true); // set as daemon so that mariaDb wont hold up shutdown
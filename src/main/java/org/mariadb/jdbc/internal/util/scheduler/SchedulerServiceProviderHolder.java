@@ -98,6 +98,7 @@ public class SchedulerServiceProviderHolder {
         }
 
         @Override
+        @Deprecated
         public ScheduledThreadPoolExecutor getTimeoutScheduler() {
           if (timeoutScheduler == null) {
             synchronized (this) {
@@ -157,6 +158,9 @@ public class SchedulerServiceProviderHolder {
   private static AtomicReference<SchedulerProvider> currentProvider =
       new AtomicReference<>(DEFAULT_PROVIDER);
 
+  private static volatile TimeoutWheel timeoutWheel;
+  private static volatile Executor executor;
+
   /**
    * Get the currently set {@link SchedulerProvider} from set invocations via {@link
    * #setSchedulerProvider(SchedulerProvider)}. If none has been set a default provider will be
@@ -181,9 +185,46 @@ public class SchedulerServiceProviderHolder {
     currentProvider.getAndSet(newProvider).close();
   }
 
+  /**
+   * Run driver internal threads on virtual threads (java 21+): failover, connection validation,
+   * timeout, bulk reading and pool threads. Threads already created are not changed. Can also be
+   * enabled with system property "mariadb.useVirtualThreads".
+   *
+   * @param useVirtualThreads use virtual threads
+   * @throws UnsupportedOperationException if runtime doesn't support virtual threads
+   */
+  public static void setUseVirtualThreads(boolean useVirtualThreads) {
+    if (useVirtualThreads && !MariaDbThreadFactory.isVirtualThreadSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require java 21 or later");
+    }
+    MariaDbThreadFactory.setUseVirtualThreads(useVirtualThreads);
+  }
+
+  /**
+   * Set an application executor that will run background reading tasks (batch results when using
+   * useBatchMultiSend, result-set prefetch), instead of driver bulk thread pool. If executor
+   * rejects a task, or has not started it when its result is needed, task is run in current
+   * thread.
+   *
+   * <p>With useBatchMultiSend, results must be read while commands are still being sent: executor
+   * must start tasks without queuing them (direct hand-off, like a thread-per-task or virtual
+   * thread executor), or sending can block until server results are read.
+   *
+   * @param newExecutor executor, or {@code null} to use driver bulk thread pool
+   */
+  public static void setExecutor(Executor newExecutor) {
+    executor = newExecutor;
+  }
+
   /** Close currentProvider. */
   public static void close() {
     currentProvider.get().close();
+    synchronized (SchedulerServiceProviderHolder.class) {
+      if (timeoutWheel != null) {
+        timeoutWheel.close();
+        timeoutWheel = null;
+      }
+    }
   }
 
   /**
@@ -215,12 +256,41 @@ public class SchedulerServiceProviderHolder {
    * Get a scheduler to handle timeout.
    *
    * @return Scheduler capable of providing the needed thread count
+   * @deprecated statement query timeouts are handled by {@link #getTimeoutWheel()}, driver doesn't
+   *     use this scheduler anymore
    */
+  @Deprecated
   public static ScheduledExecutorService getTimeoutScheduler() {
     return getSchedulerProvider().getTimeoutScheduler();
   }
 
-  public static ThreadPoolExecutor getBulkScheduler() {
+  /**
+   * Get the timing wheel handling statement query timeouts.
+   *
+   * @return timing wheel
+   */
+  public static TimeoutWheel getTimeoutWheel() {
+    if (timeoutWheel == null) {
+      synchronized (SchedulerServiceProviderHolder.class) {
+        if (timeoutWheel == null) {
+          timeoutWheel = new TimeoutWheel("MariaDb-timeout-wheel");
+        }
+      }
+    }
+    return timeoutWheel;
+  }
+
+  /**
+   * Get executor for background reading tasks: application executor if set, or provider bulk
+   * scheduler.
+   *
+   * @return executor
+   */
+  public static Executor getBulkScheduler() {
+    Executor applicationExecutor = executor;
+    if (applicationExecutor != null) {
+      return applicationExecutor;
+    }
     return getSchedulerProvider().getBulkScheduler();
   }
 
@@ -251,7 +321,10 @@ public class SchedulerServiceProviderHolder {
      * consumption [CONJ-297]
      *
      * @return A new scheduler that is ready to accept tasks
+     * @deprecated statement query timeouts are handled by driver timing wheel thread, driver
+     *     doesn't call this method anymore
      */
+    @Deprecated
     ScheduledThreadPoolExecutor getTimeoutScheduler();
 
     ThreadPoolExecutor getBulkScheduler();
@@ -0,0 +1,363 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel handling query timeouts.
+ *
+ * <p>Timeouts are hashed by deadline into a ring of buckets, one bucket per tick. Scheduling or
+ * cancelling a timeout only changes handle state and pushes the handle on a lock-free stack, so
+ * both are O(1) without lock nor allocation, handles being reused for each execution. A single
+ * thread moves pushed handles to their bucket (or removes cancelled ones) and expires handles of
+ * current bucket on each tick. Tasks are run on this thread.
+ */
+public class TimeoutWheel {
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int MASK = WHEEL_SIZE - 1;
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final int IDLE = 0;
+  private static final int PENDING = 1;
+  private static final int RUNNING = 2;
+  private static final int DONE = 3;
+
+  private final Handle[] buckets = new Handle[WHEEL_SIZE];
+  private final AtomicReference<Handle> pushed = new AtomicReference<>();
+  private final LongSupplier clock;
+  private final long startTime;
+  private final Thread worker;
+  private volatile boolean idle;
+  private volatile boolean closed;
+
+  // only used by ticking thread
+  private long lastTick;
+  private int linkedCount;
+
+  /**
+   * Create a timing wheel, and start its thread.
+   *
+   * @param threadName name of the wheel thread
+   */
+  public TimeoutWheel(String threadName) {
+    clock = System::nanoTime;
+    startTime = clock.getAsLong();
+    worker = new MariaDbThreadFactory(threadName).newThread(this::run);
+    worker.start();
+  }
+
+  /**
+   * Create a timing wheel without thread, using given clock. Timeouts only expire when calling
+   * {@link #tick()}.
+   *
+   * @param clock current time in nanoseconds
+   */
+  public TimeoutWheel(LongSupplier clock) {
+    this.clock = clock;
+    startTime = clock.getAsLong();
+    worker = null;
+  }
+
+  /**
+   * Create a reusable timeout handle.
+   *
+   * @param task task to run when timeout expires
+   * @return timeout handle
+   */
+  public Handle newHandle(Runnable task) {
+    return new Handle(task);
+  }
+
+  /** Stop wheel thread. Pending timeouts will never expire. */
+  public void close() {
+    closed = true;
+    if (worker != null) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Handle scheduled and cancelled timeouts, and run expired ones, for a wheel without thread.
+   *
+   * @throws IllegalStateException if wheel has its own thread
+   */
+  public void tick() {
+    if (worker != null) {
+      throw new IllegalStateException("Wheel is ticked by its own thread");
+    }
+    process();
+  }
+
+  /**
+   * Number of timeouts currently in wheel buckets. Only accurate from ticking thread.
+   *
+   * @return number of linked timeouts
+   */
+  public int getLinkedCount() {
+    return linkedCount;
+  }
+
+  private void push(Handle handle) {
+    Handle head;
+    do {
+      head = pushed.get();
+      handle.nextPushed = head;
+    } while (!pushed.compareAndSet(head, handle));
+
+    if (idle && worker != null) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  private void run() {
+    while (!closed) {
+      process();
+      if (linkedCount == 0) {
+        idle = true;
+        if (pushed.get() == null && !closed) {
+          LockSupport.park(this);
+        }
+        idle = false;
+      } else {
+        LockSupport.parkNanos(this, startTime + (lastTick + 1) * TICK_NANOS - clock.getAsLong());
+      }
+    }
+  }
+
+  private void process() {
+    long now = clock.getAsLong();
+    long currentTick = (now - startTime) / TICK_NANOS;
+
+    drainPushed();
+
+    if (linkedCount > 0) {
+      // if thread has been late more than a wheel turn, each bucket is handled once
+      for (long tick = Math.max(lastTick + 1, currentTick - MASK); tick <= currentTick; tick++) {
+        expireBucket((int) (tick & MASK), now);
+      }
+    }
+    lastTick = Math.max(lastTick, currentTick);
+  }
+
+  private void drainPushed() {
+    Handle handle = pushed.getAndSet(null);
+    while (handle != null) {
+      Handle next = handle.nextPushed;
+      handle.nextPushed = null;
+      handle.inStack.set(false);
+
+      // handle may have been rescheduled or cancelled: move it to the bucket of its new deadline,
+      // or remove it, so wheel doesn't retain cancelled tasks
+      if (handle.bucket >= 0) {
+        unlink(handle);
+      }
+      if (handle.state.get() == PENDING) {
+        link(handle);
+      }
+      handle = next;
+    }
+  }
+
+  private void expireBucket(int index, long now) {
+    Handle handle = buckets[index];
+    while (handle != null) {
+      Handle next = handle.next;
+      if (handle.state.get() != PENDING) {
+        // cancelled
+        unlink(handle);
+      } else if (handle.deadline - now > 0) {
+        // deadline in a next wheel turn
+        unlink(handle);
+        link(handle);
+      } else if (handle.state.compareAndSet(PENDING, RUNNING)) {
+        unlink(handle);
+        handle.run();
+      }
+      handle = next;
+    }
+  }
+
+  private void link(Handle handle) {
+    long deadlineTick = (handle.deadline - startTime + TICK_NANOS - 1) / TICK_NANOS;
+    int index = (int) (Math.max(deadlineTick, lastTick + 1) & MASK);
+    Handle head = buckets[index];
+    handle.bucket = index;
+    handle.prev = null;
+    handle.next = head;
+    if (head != null) {
+      head.prev = handle;
+    }
+    buckets[index] = handle;
+    linkedCount++;
+  }
+
+  private void unlink(Handle handle) {
+    if (handle.prev != null) {
+      handle.prev.next = handle.next;
+    } else {
+      buckets[handle.bucket] = handle.next;
+    }
+    if (handle.next != null) {
+      handle.next.prev = handle.prev;
+    }
+    handle.prev = null;
+    handle.next = null;
+    handle.bucket = -1;
+    linkedCount--;
+  }
+
+  /** Reusable timeout. A handle can be scheduled again once cancelled or expired. */
+  public final class Handle {
+
+    private final Runnable task;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private final AtomicBoolean inStack = new AtomicBoolean();
+    private volatile long deadline;
+    private Handle nextPushed;
+
+    // bucket links, only used by ticking thread
+    private Handle prev;
+    private Handle next;
+    private int bucket = -1;
+
+    private Handle(Runnable task) {
+      this.task = task;
+    }
+
+    /**
+     * Schedule timeout. If timeout is already scheduled, deadline is replaced. If task is
+     * currently running, wait for task to finish first.
+     *
+     * @param delay delay before running task
+     * @param unit delay unit
+     */
+    public void schedule(long delay, TimeUnit unit) {
+      deadline = clock.getAsLong() + unit.toNanos(delay);
+      int current;
+      while ((current = state.get()) == RUNNING || !state.compareAndSet(current, PENDING)) {
+        if (current == RUNNING) {
+          awaitTask();
+        }
+      }
+      if (inStack.compareAndSet(false, true)) {
+        push(this);
+      }
+    }
+
+    /**
+     * Cancel timeout. Handle is removed from wheel on next tick. If task is currently running,
+     * wait for task to finish, to ensure state modifications are done.
+     */
+    public void cancel() {
+      if (state.compareAndSet(PENDING, IDLE)) {
+        if (inStack.compareAndSet(false, true)) {
+          push(this);
+        }
+      } else if (state.get() == RUNNING) {
+        awaitTask();
+      }
+    }
+
+    /**
+     * Indicate if wheel has been closed, handle cannot be used anymore.
+     *
+     * @return true if wheel is closed
+     */
+    public boolean isClosed() {
+      return closed;
+    }
+
+    /**
+     * Wait for running task to finish. Waiting continues if thread is interrupted (interrupt status
+     * is restored afterward), so handle is always left in a reusable state.
+     */
+    private void awaitTask() {
+      boolean interrupted = false;
+      synchronized (this) {
+        while (state.get() == RUNNING) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void run() {
+      try {
+        task.run();
+      } catch (Throwable t) {
+        // eat
+      }
+      synchronized (this) {
+        state.set(DONE);
+        notifyAll();
+      }
+    }
+  }
+}
@@ -685,6 +685,125 @@ public enum DefaultOptions {
       Boolean.TRUE,
       "2.6.0",
       "manage session_track_schema setting when server has CLIENT_SESSION_TRACK capability",
+      false),
+  MAX_REPLICA_LAG(
+      "maxReplicaLagMs",
+      0,
+      0,
+      "2.6.1",
+      "When using replication or aurora failover, replicas whose replication lag exceed this value"
+          + " (in milliseconds) are not used for read-only connections. Replica lag is sampled"
+          + " periodically and shared between connections to the same cluster. 0 disables this"
+          + " check.",
+      false),
+  TOPOLOGY_CACHE_TTL(
+      "topologyCacheTtl",
+      30,
+      0,
+      "2.6.1",
+      "When using aurora failover, cluster endpoints discovered from"
+          + " information_schema.replica_host_status are shared by all connections to the same"
+          + " cluster during this time (in seconds) before being queried again. 0 queries endpoints"
+          + " each time a connection is established.",
+      false),
+  METADATA_CACHE_TTL(
+      "metadataCacheTtl",
+      0,
+      0,
+      "2.6.1",
+      "DatabaseMetaData results are cached during this time (in seconds), shared by connections"
+          + " with the same configuration. Cache is invalidated when a connection executes DDL."
+          + " 0 disables cache.",
+      false),
+  USE_LOB_STREAMING(
+      "useLobStreaming",
+      Boolean.FALSE,
+      "2.6.1",
+      "When streaming a result-set (fetch size > 0), if the last column is a BLOB/TEXT column,"
+          + " rows bigger than 1M don't load this value in memory: getBinaryStream() and"
+          + " getCharacterStream() read it directly from the socket. Value is only available until"
+          + " cursor moves to the next row (without compression only).",
+      false),
+  USE_CURSOR_FETCH(
+      "useCursorFetch",
+      Boolean.FALSE,
+      "2.6.1",
+      "When a server-prepared statement returning a result-set is executed with a fetch size > 0,"
+          + " use a server cursor: rows are fetched by batch of fetch size rows with"
+          + " COM_STMT_FETCH. Connection is free between batches, so other commands can be"
+          + " executed without loading remaining rows in memory.",
+      false),
+  FETCH_BATCH_BYTES(
+      "fetchBatchBytes",
+      0,
+      0,
+      "2.6.1",
+      "When streaming a result-set (fetch size > 0), target size in bytes of each batch of rows."
+          + " First batch reads fetch size rows, next batches row number is adjusted to the"
+          + " average row size. 0 to always read fetch size rows.",
+      false),
+  USE_STREAMING_PREFETCH(
+      "useStreamingPrefetch",
+      Boolean.FALSE,
+      "2.6.1",
+      "When streaming a result-set (fetch size > 0), read next batch of rows in a background"
+          + " thread while current batch is processed. Only one batch is read in advance.",
+      false),
+  USE_PIPELINED_RESET(
+      "usePipelinedReset",
+      Boolean.FALSE,
+      "2.6.1",
+      "When a pooled connection is released, send reset commands (COM_RESET_CONNECTION, restoring"
+          + " autocommit, database, transaction isolation) in a row without waiting for results."
+          + " Results are read when connection is borrowed again.",
+      false),
+  USE_PIPELINED_PREPARE(
+      "usePipelinedPrepare",
+      Boolean.FALSE,
+      "2.6.1",
+      "With useServerPrepStmts, server prepared statements are prepared on first execution, PREPARE"
+          + " and EXECUTE being sent in a row, saving a round trip (MariaDB >= 10.2.4).",
+      false),
+  USE_CANCEL_CONNECTION_POOL(
+      "useCancelConnectionPool",
+      Boolean.FALSE,
+      "2.6.1",
+      "Query cancellation and query timeouts send KILL QUERY using a small pool of connections"
+          + " shared by all connections to the same host, instead of a new connection for each"
+          + " cancellation.",
+      false),
+  USE_BATCH_MULTI_SEND_SINGLE_THREAD(
+      "useBatchMultiSendSingleThread",
+      Boolean.FALSE,
+      "2.6.1",
+      "With useBatchMultiSend, batch results are read by the thread sending the batch, between"
+          + " sends, instead of by a thread of the bulk thread pool.",
+      false),
+  RESULT_CACHE_TTL(
+      "resultCacheTtl",
+      0,
+      0,
+      "2.6.1",
+      "Results of statements marked with MariaDbStatement.setResultCacheable(true) are cached"
+          + " during this time (in seconds), shared by connections with the same configuration."
+          + " Cached results are invalidated when these connections execute other than read-only"
+          + " queries. 0 disables cache.",
+      false),
+  RESULT_CACHE_MAX_BYTES(
+      "resultCacheMaxBytes",
+      16 * 1024 * 1024,
+      0,
+      "2.6.1",
+      "Maximum memory size (in bytes) of cached results when resultCacheTtl is set. Least"
+          + " recently used results are evicted when exceeded.",
+      false),
+  CACHE_RESULT_SET_METADATA(
+      "cacheResultSetMetadata",
+      Boolean.FALSE,
+      "2.6.1",
+      "Cache result-set column definitions. Text result-sets reuse column definitions already"
+          + " received by the connection, and with MariaDB 10.6+, server doesn't send column"
+          + " definitions again when executing a prepared statement whose metadata didn't change.",
       false);
 
   private final String optionName;
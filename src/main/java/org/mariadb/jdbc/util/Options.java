@@ -93,6 +93,9 @@ public class Options implements Cloneable {
   public boolean jdbcCompliantTruncation = true;
   public boolean cacheCallableStmts = true;
   public int callableStmtCacheSize = 150;
+  public int metadataCacheTtl;
+  public int resultCacheTtl;
+  public int resultCacheMaxBytes = 16 * 1024 * 1024;
   public String connectionAttributes;
   public Boolean useBatchMultiSend;
   public int useBatchMultiSendNumber = 100;
@@ -124,6 +127,8 @@ public class Options implements Cloneable {
   public int failoverLoopRetries = 120;
   public boolean allowMasterDownConnection;
   public String galeraAllowedState;
+  public int maxReplicaLagMs;
+  public int topologyCacheTtl = 30;
 
   // Pool options
   public boolean pool;
@@ -136,6 +141,15 @@ public class Options implements Cloneable {
   public int poolValidMinDelay = 1000;
   public boolean useResetConnection;
   public boolean useReadAheadInput = true;
+  public boolean useLobStreaming;
+  public boolean useCursorFetch;
+  public int fetchBatchBytes;
+  public boolean useStreamingPrefetch;
+  public boolean usePipelinedReset;
+  public boolean usePipelinedPrepare;
+  public boolean useCancelConnectionPool;
+  public boolean useBatchMultiSendSingleThread;
+  public boolean cacheResultSetMetadata;
 
   // MySQL sha authentication
   public String serverRsaPublicKeyFile;
@@ -310,6 +324,12 @@ public class Options implements Cloneable {
     if (failoverLoopRetries != opt.failoverLoopRetries) {
       return false;
     }
+    if (maxReplicaLagMs != opt.maxReplicaLagMs) {
+      return false;
+    }
+    if (topologyCacheTtl != opt.topologyCacheTtl) {
+      return false;
+    }
     if (pool != opt.pool) {
       return false;
     }
@@ -325,6 +345,33 @@ public class Options implements Cloneable {
     if (useReadAheadInput != opt.useReadAheadInput) {
       return false;
     }
+    if (useLobStreaming != opt.useLobStreaming) {
+      return false;
+    }
+    if (useCursorFetch != opt.useCursorFetch) {
+      return false;
+    }
+    if (fetchBatchBytes != opt.fetchBatchBytes) {
+      return false;
+    }
+    if (useStreamingPrefetch != opt.useStreamingPrefetch) {
+      return false;
+    }
+    if (usePipelinedReset != opt.usePipelinedReset) {
+      return false;
+    }
+    if (usePipelinedPrepare != opt.usePipelinedPrepare) {
+      return false;
+    }
+    if (useCancelConnectionPool != opt.useCancelConnectionPool) {
+      return false;
+    }
+    if (useBatchMultiSendSingleThread != opt.useBatchMultiSendSingleThread) {
+      return false;
+    }
+    if (cacheResultSetMetadata != opt.cacheResultSetMetadata) {
+      return false;
+    }
     if (maxPoolSize != opt.maxPoolSize) {
       return false;
     }
@@ -418,6 +465,15 @@ public class Options implements Cloneable {
     if (callableStmtCacheSize != opt.callableStmtCacheSize) {
       return false;
     }
+    if (metadataCacheTtl != opt.metadataCacheTtl) {
+      return false;
+    }
+    if (resultCacheTtl != opt.resultCacheTtl) {
+      return false;
+    }
+    if (resultCacheMaxBytes != opt.resultCacheMaxBytes) {
+      return false;
+    }
     if (!Objects.equals(connectionAttributes, opt.connectionAttributes)) {
       return false;
     }
@@ -511,6 +567,9 @@ public class Options implements Cloneable {
     result = 31 * result + (jdbcCompliantTruncation ? 1 : 0);
     result = 31 * result + (cacheCallableStmts ? 1 : 0);
     result = 31 * result + callableStmtCacheSize;
+    result = 31 * result + metadataCacheTtl;
+    result = 31 * result + resultCacheTtl;
+    result = 31 * result + resultCacheMaxBytes;
     result = 31 * result + (connectionAttributes != null ? connectionAttributes.hashCode() : 0);
     result = 31 * result + (useBatchMultiSend != null ? useBatchMultiSend.hashCode() : 0);
     result = 31 * result + useBatchMultiSendNumber;
@@ -534,10 +593,21 @@ public class Options implements Cloneable {
     result = 31 * result + validConnectionTimeout;
     result = 31 * result + loadBalanceBlacklistTimeout;
     result = 31 * result + failoverLoopRetries;
+    result = 31 * result + maxReplicaLagMs;
+    result = 31 * result + topologyCacheTtl;
     result = 31 * result + (pool ? 1 : 0);
     result = 31 * result + (registerJmxPool ? 1 : 0);
     result = 31 * result + (useResetConnection ? 1 : 0);
     result = 31 * result + (useReadAheadInput ? 1 : 0);
+    result = 31 * result + (useLobStreaming ? 1 : 0);
+    result = 31 * result + (useCursorFetch ? 1 : 0);
+    result = 31 * result + fetchBatchBytes;
+    result = 31 * result + (useStreamingPrefetch ? 1 : 0);
+    result = 31 * result + (usePipelinedReset ? 1 : 0);
+    result = 31 * result + (usePipelinedPrepare ? 1 : 0);
+    result = 31 * result + (useCancelConnectionPool ? 1 : 0);
+    result = 31 * result + (useBatchMultiSendSingleThread ? 1 : 0);
+    result = 31 * result + (cacheResultSetMetadata ? 1 : 0);
     result = 31 * result + (staticGlobal ? 1 : 0);
     result = 31 * result + (poolName != null ? poolName.hashCode() : 0);
     result = 31 * result + (galeraAllowedState != null ? galeraAllowedState.hashCode() : 0);
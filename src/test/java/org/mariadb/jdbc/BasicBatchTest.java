@@ -140,6 +140,13 @@ public class BasicBatchTest extends BaseTest {
     batchTestStmt(sharedConnection);
   }
 
+  @Test
+  public void batchTestStmtUsingSingleThreadPipeline() throws SQLException {
+    try (Connection connection = setConnection("&useBatchMultiSendSingleThread")) {
+      batchTestStmt(connection);
+    }
+  }
+
   @Test
   public void batchTestStmtWithoutPipeline() throws SQLException {
     try (Connection connection = setConnection("&useBatchMultiSend=false")) {
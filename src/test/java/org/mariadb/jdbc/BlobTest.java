@@ -589,4 +589,104 @@ public class BlobTest extends BaseTest {
     blob.setBytes(5, new byte[] {1, 2, 3, 4, 5, 6});
     assertArrayEquals(new byte[] {0, 0, 0, 0, 1, 2, 3, 4, 5}, blob.getBytes(1, 9));
   }
+
+  @Test
+  public void lobStreaming() throws Exception {
+    Assume.assumeTrue(checkMaxAllowedPacketMore20m("lobStreaming"));
+    createTable("BlobTestLobStreaming", "id int not null primary key, strm longblob");
+    byte[] small = "small value".getBytes();
+    byte[] big = new byte[18 * 1024 * 1024];
+    new Random().nextBytes(big);
+
+    try (Connection connection = setConnection("&useLobStreaming=true")) {
+      PreparedStatement ps =
+          connection.prepareStatement("INSERT INTO BlobTestLobStreaming VALUES (?, ?)");
+      for (int i = 0; i < 4; i++) {
+        ps.setInt(1, i);
+        ps.setBytes(2, i == 1 ? small : big);
+        ps.execute();
+      }
+
+      Statement stmt = connection.createStatement();
+      stmt.setFetchSize(2);
+      ResultSet rs = stmt.executeQuery("SELECT id, strm FROM BlobTestLobStreaming ORDER BY id");
+
+      // value read from socket
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (InputStream is = rs.getBinaryStream(2)) {
+        byte[] buf = new byte[8192];
+        int len;
+        while ((len = is.read(buf)) > 0) {
+          out.write(buf, 0, len);
+        }
+      }
+      assertArrayEquals(big, out.toByteArray());
+
+      // small row, read normally
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+      assertArrayEquals(small, rs.getBytes(2));
+
+      // streamed value partially read, then skipped
+      assertTrue(rs.next());
+      assertEquals(2, rs.getInt(1));
+      InputStream is = rs.getBinaryStream(2);
+      assertEquals(big[0] & 0xff, is.read());
+
+      // streamed value loaded in memory
+      assertTrue(rs.next());
+      assertEquals(3, rs.getInt(1));
+      assertArrayEquals(big, rs.getBytes(2));
+      assertFalse(rs.next());
+
+      try {
+        is.read();
+        fail("stream must not be available after cursor moved");
+      } catch (IOException e) {
+        assertTrue(e.getMessage().contains("not available anymore"));
+      }
+    }
+  }
+
+  @Test
+  public void longDataStreaming() throws Exception {
+    Assume.assumeTrue(checkMaxAllowedPacketMore8m("longDataStreaming"));
+    createTable(
+        "BlobTestLongData",
+        "id int not null primary key, strm longblob, txt longtext",
+        "CHARSET utf8mb4");
+    byte[] bytes = new byte[3 * 1024 * 1024 + 5];
+    new Random().nextBytes(bytes);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 500_000; i++) {
+      sb.append(i % 3 == 0 ? "\uD83D\uDE00" : i % 3 == 1 ? "\u00e9" : "a");
+    }
+    String str = sb.toString();
+
+    try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+      PreparedStatement ps =
+          connection.prepareStatement("INSERT INTO BlobTestLongData VALUES (?, ?, ?)");
+      ps.setInt(1, 1);
+      ps.setBinaryStream(2, new ByteArrayInputStream(bytes));
+      ps.setCharacterStream(3, new StringReader(str));
+      ps.execute();
+
+      ps.setInt(1, 2);
+      ps.setBinaryStream(2, new ByteArrayInputStream(bytes), 10);
+      ps.setCharacterStream(3, new StringReader(str), 0);
+      ps.execute();
+
+      ResultSet rs =
+          connection.createStatement().executeQuery("SELECT * FROM BlobTestLongData ORDER BY id");
+      assertTrue(rs.next());
+      assertArrayEquals(bytes, rs.getBytes(2));
+      assertEquals(str, rs.getString(3));
+      assertTrue(rs.next());
+      assertArrayEquals(Arrays.copyOf(bytes, 10), rs.getBytes(2));
+      assertEquals("", rs.getString(3));
+      assertFalse(rs.next());
+    }
+  }
 }
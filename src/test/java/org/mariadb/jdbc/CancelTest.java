@@ -55,14 +55,19 @@ package org.mariadb.jdbc;
 import static org.junit.Assert.*;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.protocol.CancelQueryPool;
 
 public class CancelTest extends BaseTest {
 
@@ -116,6 +121,71 @@ public class CancelTest extends BaseTest {
     }
   }
 
+  @Test(timeout = 20000)
+  public void timeoutServerPrepareSleep() throws Exception {
+    Assume.assumeFalse(sharedIsAurora());
+    Assume.assumeTrue(isMariadbServer() && minVersion(10, 1));
+    try (Connection connection = setConnection("&useServerPrepStmts")) {
+      try (PreparedStatement stmt =
+          connection.prepareStatement(
+              "select * from information_schema.columns as c1, "
+                  + "information_schema.tables, information_schema.tables as t2 where 1 = ?")) {
+        stmt.setInt(1, 1);
+        stmt.setQueryTimeout(1);
+        try {
+          stmt.execute();
+          fail();
+        } catch (SQLTimeoutException e) {
+          // aborted by server, using max_statement_time
+          assertEquals(1969, e.getErrorCode());
+        }
+
+        stmt.setQueryTimeout(0);
+        ResultSet rs = stmt.executeQuery("SELECT 2");
+        assertTrue(rs.next());
+      }
+    }
+  }
+
+  @Test(timeout = 20000)
+  public void timeoutSleepCancelPool() throws Exception {
+    Assume.assumeFalse(sharedIsAurora());
+    ExecutorService exec = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(
+            exec.submit(
+                () -> {
+                  try (Connection connection = setConnection("&useCancelConnectionPool")) {
+                    Statement stmt = connection.createStatement();
+                    stmt.setQueryTimeout(1);
+                    try {
+                      stmt.execute(
+                          "select * from information_schema.columns as c1, "
+                              + "information_schema.tables, information_schema.tables as t2");
+                      return false;
+                    } catch (SQLTimeoutException e) {
+                      // connection still usable after cancellation
+                      ResultSet rs = stmt.executeQuery("select 1");
+                      return rs.next();
+                    }
+                  }
+                }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+
+      // idle connections are closed after a minute
+      assertTrue(CancelQueryPool.idleConnectionCount() > 0);
+      CancelQueryPool.evictIdleConnections(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+      assertEquals(0, CancelQueryPool.idleConnectionCount());
+    } finally {
+      exec.shutdown();
+    }
+  }
+
   @Test(timeout = 10000)
   public void timeoutBatch() throws Exception {
     Assume.assumeFalse(sharedIsAurora());
@@ -172,6 +242,39 @@ public class CancelTest extends BaseTest {
     }
   }
 
+  @Test
+  public void batchServerTimeout() throws Exception {
+    Assume.assumeFalse(sharedIsAurora());
+    Assume.assumeTrue(isMariadbServer() && minVersion(10, 1, 2));
+    createTable("batchServerTimeout", "val double");
+    try (Statement stmt = sharedConnection.createStatement()) {
+      stmt.setQueryTimeout(10);
+      stmt.addBatch("INSERT INTO batchServerTimeout VALUES (@@max_statement_time)");
+      stmt.addBatch("INSERT INTO batchServerTimeout VALUES (@@max_statement_time)");
+      stmt.executeBatch();
+    }
+
+    try (Connection connection = setConnection("&useServerPrepStmts");
+        PreparedStatement stmt =
+            connection.prepareStatement(
+                "INSERT INTO batchServerTimeout VALUES (@@max_statement_time + ?)")) {
+      stmt.setQueryTimeout(10);
+      stmt.setInt(1, 0);
+      stmt.addBatch();
+      stmt.setInt(1, 0);
+      stmt.addBatch();
+      stmt.executeBatch();
+    }
+
+    ResultSet rs =
+        sharedConnection.createStatement().executeQuery("SELECT val FROM batchServerTimeout");
+    for (int i = 0; i < 4; i++) {
+      assertTrue(rs.next());
+      assertEquals(10, rs.getDouble(1), 0.001);
+    }
+    assertFalse(rs.next());
+  }
+
   @Test
   public void noTimeoutSleep() throws Exception {
     Statement stmt = sharedConnection.createStatement();
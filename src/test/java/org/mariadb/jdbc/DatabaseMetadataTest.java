@@ -141,6 +141,51 @@ public class DatabaseMetadataTest extends BaseTest {
     assertEquals(2, counter);
   }
 
+  @Test
+  public void tablesMetadata() throws SQLException {
+    try (Connection connection = setConnection("&metadataCacheTtl=60")) {
+      MariaDbDatabaseMetaData dbmd = (MariaDbDatabaseMetaData) connection.getMetaData();
+      MariaDbDatabaseMetaData.TablesMetadata tablesMetadata =
+          dbmd.getTablesMetadata("testj", new String[] {"dbpk_test", "datetime_test"});
+
+      ResultSet rs = tablesMetadata.getColumns();
+      int counter = 0;
+      while (rs.next()) {
+        counter++;
+      }
+      assertEquals(4, counter);
+
+      rs = tablesMetadata.getPrimaryKeys();
+      counter = 0;
+      while (rs.next()) {
+        counter++;
+        assertEquals("dbpk_test", rs.getString("table_name"));
+      }
+      assertEquals(2, counter);
+
+      // per-table results are served from cache, even after table has been altered elsewhere
+      sharedConnection.createStatement().execute("ALTER TABLE datetime_test ADD COLUMN dt2 int");
+      try {
+        rs = dbmd.getColumns("testj", null, "datetime_test", null);
+        counter = 0;
+        while (rs.next()) {
+          counter++;
+        }
+        assertEquals(1, counter);
+
+        ((MariaDbConnection) connection).invalidateMetadataCache();
+        rs = dbmd.getColumns("testj", null, "datetime_test", null);
+        counter = 0;
+        while (rs.next()) {
+          counter++;
+        }
+        assertEquals(2, counter);
+      } finally {
+        sharedConnection.createStatement().execute("ALTER TABLE datetime_test DROP COLUMN dt2");
+      }
+    }
+  }
+
   @Test
   public void primaryKeyTest2() throws SQLException {
     Statement stmt = sharedConnection.createStatement();
@@ -54,6 +54,7 @@ package org.mariadb.jdbc;
 
 import static org.junit.Assert.*;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -61,6 +62,7 @@ import java.sql.Statement;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 
 public class FetchSizeTest extends BaseTest {
 
@@ -72,6 +74,9 @@ public class FetchSizeTest extends BaseTest {
     createTable("fetchSizeTest3", "id int, test varchar(100)");
     createTable("fetchSizeTest4", "id int, test varchar(100)");
     createTable("fetchSizeTest5", "id int, test varchar(100)");
+    createTable("fetchSizeTest6", "id int, test varchar(100)");
+    createTable("fetchSizeTest7", "id int, test varchar(100)");
+    createTable("fetchSizeTest8", "id int, test varchar(100)");
   }
 
   @Test
@@ -269,4 +274,126 @@ public class FetchSizeTest extends BaseTest {
             + normalExecutionTime,
         interruptedExecutionTime < normalExecutionTime);
   }
+
+  @Test
+  public void cursorFetch() throws SQLException {
+    prepareRecords(100, "fetchSizeTest6");
+
+    try (Connection connection = setConnection("&useServerPrepStmts=true&useCursorFetch=true")) {
+      PreparedStatement pstmt1 =
+          connection.prepareStatement("SELECT test FROM fetchSizeTest6 WHERE test >= ?");
+      pstmt1.setFetchSize(7);
+      pstmt1.setString(1, "0");
+      PreparedStatement pstmt2 =
+          connection.prepareStatement("SELECT test FROM fetchSizeTest6 WHERE 1 = ?");
+      pstmt2.setFetchSize(10);
+      pstmt2.setInt(1, 1);
+
+      // interleave result-sets, each fetching rows by batch
+      ResultSet rs1 = pstmt1.executeQuery();
+      ResultSet rs2 = pstmt2.executeQuery();
+      Statement stmt = connection.createStatement();
+      for (int counter = 0; counter < 100; counter++) {
+        assertTrue(rs1.next());
+        assertTrue(rs2.next());
+        assertEquals(rs1.getString(1), rs2.getString(1));
+        if (counter % 25 == 0) {
+          ResultSet rs = stmt.executeQuery("SELECT 1");
+          assertTrue(rs.next());
+        }
+      }
+      assertFalse(rs1.next());
+      assertFalse(rs2.next());
+
+      // empty result
+      pstmt2.setInt(1, 2);
+      ResultSet rs = pstmt2.executeQuery();
+      assertFalse(rs.next());
+
+      // closing result-set before end
+      pstmt2.setInt(1, 1);
+      rs = pstmt2.executeQuery();
+      assertTrue(rs.next());
+      rs.close();
+
+      // new execution closes previous result-set
+      rs = pstmt2.executeQuery();
+      assertTrue(rs.next());
+      ResultSet rs3 = pstmt2.executeQuery();
+      assertTrue(rs.isClosed());
+      int counter = 0;
+      while (rs3.next()) {
+        counter++;
+      }
+      assertEquals(100, counter);
+    }
+  }
+
+  @Test
+  public void fetchBatchBytes() throws SQLException {
+    prepareRecords(1000, "fetchSizeTest7");
+
+    try (Connection connection = setConnection("&fetchBatchBytes=1000")) {
+      Statement stmt = connection.createStatement();
+      stmt.setFetchSize(1);
+      ResultSet rs = stmt.executeQuery("SELECT test FROM fetchSizeTest7");
+      for (int counter = 0; counter < 1000; counter++) {
+        assertTrue(rs.next());
+        assertEquals("" + counter, rs.getString(1));
+        if (counter == 0) {
+          // first batch reads fetch size rows
+          assertEquals(1, loadedRows(rs));
+        } else if (counter == 1) {
+          // narrow rows (a few bytes each) : next batch is big
+          assertTrue(loadedRows(rs) > 100);
+        }
+      }
+      assertFalse(rs.next());
+
+      rs = stmt.executeQuery("SELECT REPEAT('a', 200) FROM fetchSizeTest7");
+      assertTrue(rs.next());
+      assertEquals(1, loadedRows(rs));
+      assertTrue(rs.next());
+      // rows are about 200 bytes : next batch is small
+      int batchRows = loadedRows(rs);
+      assertTrue(batchRows > 1 && batchRows < 10);
+      int counter = 2;
+      while (rs.next()) {
+        counter++;
+      }
+      assertEquals(1000, counter);
+    }
+  }
+
+  private static int loadedRows(ResultSet rs) throws SQLException {
+    return rs.unwrap(SelectResultSet.class).getLoadedRows().size();
+  }
+
+  @Test
+  public void streamingPrefetch() throws SQLException {
+    prepareRecords(1000, "fetchSizeTest8");
+
+    try (Connection connection = setConnection("&useStreamingPrefetch=true")) {
+      Statement stmt = connection.createStatement();
+      stmt.setFetchSize(10);
+      ResultSet rs = stmt.executeQuery("SELECT test FROM fetchSizeTest8");
+      for (int counter = 0; counter < 1000; counter++) {
+        assertTrue(rs.next());
+        assertEquals("" + counter, rs.getString(1));
+        if (counter == 500) {
+          // another query loads remaining rows
+          ResultSet rs2 = connection.createStatement().executeQuery("SELECT 1");
+          assertTrue(rs2.next());
+        }
+      }
+      assertFalse(rs.next());
+
+      rs = stmt.executeQuery("SELECT test FROM fetchSizeTest8");
+      assertTrue(rs.next());
+      rs.close();
+      rs = stmt.executeQuery("SELECT 2");
+      assertTrue(rs.next());
+      assertEquals(2, rs.getInt(1));
+    }
+  }
 }
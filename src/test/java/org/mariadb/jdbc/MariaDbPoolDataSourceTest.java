@@ -37,6 +37,7 @@ import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import org.junit.Assume;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.pool.Pools;
 import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
 
@@ -236,6 +237,49 @@ public class MariaDbPoolDataSourceTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testPipelinedReset() throws SQLException {
+    Assume.assumeFalse(sharedIsAurora());
+    testPipelinedReset(false);
+    if (isMariadbServer() && minVersion(10, 2)) {
+      testPipelinedReset(true);
+    }
+  }
+
+  private void testPipelinedReset(boolean useResetConnection) throws SQLException {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            connUri
+                + "&maxPoolSize=1&usePipelinedReset&useResetConnection="
+                + useResetConnection)) {
+      try (Connection connection = pool.getConnection()) {
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE DATABASE IF NOT EXISTS testingPipelinedReset");
+        connection.setCatalog("testingPipelinedReset");
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        statement.execute("SET @@wait_timeout=2000");
+      }
+
+      try (Connection connection = pool.getConnection()) {
+        assertEquals(database, connection.getCatalog());
+        assertTrue(connection.getAutoCommit());
+        assertEquals(Connection.TRANSACTION_REPEATABLE_READ, connection.getTransactionIsolation());
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT DATABASE(), @@autocommit, @@wait_timeout");
+        assertTrue(rs.next());
+        assertEquals(database, rs.getString(1));
+        assertEquals(1, rs.getInt(2));
+        if (useResetConnection) {
+          assertNotEquals(2000, rs.getInt(3));
+        } else {
+          assertEquals(2000, rs.getInt(3));
+        }
+        statement.execute("DROP DATABASE testingPipelinedReset");
+      }
+    }
+  }
+
   @Test
   public void testJmx() throws Exception {
     MBeanServer server = ManagementFactory.getPlatformMBeanServer();
@@ -522,4 +566,39 @@ public class MariaDbPoolDataSourceTest extends BaseTest {
       }
     }
   }
+
+  @Test
+  public void testPrepareCacheKeptOnReset() throws Throwable {
+    Assume.assumeTrue(isMariadbServer() && minVersion(10, 4));
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            connUri + "&maxPoolSize=1&useServerPrepStmts=true&useResetConnection")) {
+      ServerPrepareResult serverPrepareResult;
+      try (Connection connection = pool.getConnection()) {
+        PreparedStatement preparedStatement = connection.prepareStatement("SELECT ?");
+        preparedStatement.setString(1, "1");
+        preparedStatement.execute();
+        serverPrepareResult =
+            getProtocolFromConnection(connection)
+                .prepareStatementCache()
+                .get(connection.getCatalog() + "-SELECT ?");
+        assertNotNull(serverPrepareResult);
+      }
+
+      try (Connection connection = pool.getConnection()) {
+        assertTrue(serverPrepareResult.isReprepareNeeded());
+        PreparedStatement preparedStatement = connection.prepareStatement("SELECT ?");
+        preparedStatement.setString(1, "2");
+        ResultSet rs = preparedStatement.executeQuery();
+        assertTrue(rs.next());
+        assertEquals("2", rs.getString(1));
+        assertFalse(serverPrepareResult.isReprepareNeeded());
+        assertEquals(
+            serverPrepareResult,
+            getProtocolFromConnection(connection)
+                .prepareStatementCache()
+                .get(connection.getCatalog() + "-SELECT ?"));
+      }
+    }
+  }
 }
@@ -55,10 +55,13 @@ package org.mariadb.jdbc;
 import static org.junit.Assert.*;
 
 import java.sql.*;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 
 public class ResultSetTest extends BaseTest {
 
@@ -1233,4 +1236,42 @@ public class ResultSetTest extends BaseTest {
       Assert.assertEquals("", meta.getColumnName(1));
     }
   }
+
+  @Test
+  public void parallelStream() throws SQLException {
+    try (Connection connection = setConnection("")) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE parallelStream (id int, val varchar(20))");
+      try (PreparedStatement pstmt =
+          connection.prepareStatement("INSERT INTO parallelStream VALUES (?, ?)")) {
+        for (int i = 0; i < 5000; i++) {
+          pstmt.setInt(1, i);
+          pstmt.setString(2, "val" + i);
+          pstmt.addBatch();
+        }
+        pstmt.executeBatch();
+      }
+      ResultSet rs = stmt.executeQuery("SELECT id, val FROM parallelStream ORDER BY id");
+      assertTrue(rs.next());
+      List<String> values =
+          rs.unwrap(SelectResultSet.class)
+              .parallelStream(row -> row.getInt(1) + "-" + row.getString("val"))
+              .collect(Collectors.toList());
+      assertEquals(4999, values.size());
+      for (int i = 0; i < values.size(); i++) {
+        assertEquals((i + 1) + "-val" + (i + 1), values.get(i));
+      }
+      // cursor position is unchanged
+      assertEquals(0, rs.getInt(1));
+
+      try {
+        rs.unwrap(SelectResultSet.class)
+            .parallelStream(row -> row.getString("wrong_column_name"))
+            .collect(Collectors.toList());
+        fail("must have thrown an exception");
+      } catch (RowMappingException e) {
+        assertEquals("42S22", e.getCause().getSQLState());
+      }
+    }
+  }
 }
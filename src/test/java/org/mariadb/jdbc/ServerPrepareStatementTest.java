@@ -115,6 +115,8 @@ public class ServerPrepareStatementTest extends BaseTest {
     createTable(
         "ServerPrepareStatementSync",
         "id int not null primary key auto_increment, test varchar(1007), tt boolean");
+    createTable("ServerPreparePipelined", "id int not null primary key, test varchar(10)");
+    createTable("ServerPrepareMetadataCache", "id int, val varchar(10)");
   }
 
   @Test
@@ -1166,6 +1168,56 @@ public class ServerPrepareStatementTest extends BaseTest {
     }
   }
 
+  @Test
+  public void pipelinedPrepare() throws Throwable {
+    try (Connection connection =
+        setConnection("&useServerPrepStmts=true&usePipelinedPrepare=true")) {
+      Protocol protocol = getProtocolFromConnection(connection);
+      int cacheSize = protocol.prepareStatementCache().size();
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement("INSERT INTO ServerPreparePipelined VALUES (?, ?)")) {
+        preparedStatement.setInt(1, 1);
+        preparedStatement.setString(2, "a");
+        assertEquals(1, preparedStatement.executeUpdate());
+        assertEquals(cacheSize + 1, protocol.prepareStatementCache().size());
+        preparedStatement.setInt(1, 2);
+        preparedStatement.setString(2, "b");
+        assertEquals(1, preparedStatement.executeUpdate());
+
+        // duplicate key error is reported, statement is still usable
+        try {
+          preparedStatement.executeUpdate();
+          fail("must have thrown error");
+        } catch (SQLException sqle) {
+          assertEquals("23000", sqle.getSQLState());
+        }
+      }
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement("SELECT test FROM ServerPreparePipelined WHERE id = ?")) {
+        assertEquals(1, preparedStatement.getParameterMetaData().getParameterCount());
+        preparedStatement.setInt(1, 2);
+        ResultSet rs = preparedStatement.executeQuery();
+        assertTrue(rs.next());
+        assertEquals("b", rs.getString(1));
+        assertEquals(1, preparedStatement.getMetaData().getColumnCount());
+      }
+
+      // query error is reported on execution
+      PreparedStatement preparedStatement =
+          connection.prepareStatement("SELECT * FROM ServerPreparePipelinedUnknown WHERE id = ?");
+      preparedStatement.setInt(1, 1);
+      try {
+        preparedStatement.executeQuery();
+        fail("must have thrown error");
+      } catch (SQLException sqle) {
+        assertEquals("42S02", sqle.getSQLState());
+      }
+      connection.createStatement().execute("DO 1");
+    }
+  }
+
   public static class BatchThread implements Runnable {
 
     private final PreparedStatement preparedStatement;
@@ -1183,4 +1235,40 @@ public class ServerPrepareStatementTest extends BaseTest {
       }
     }
   }
+
+  @Test
+  public void cacheResultSetMetadata() throws SQLException {
+    try (Connection connection = setConnection("&useServerPrepStmts&cacheResultSetMetadata")) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("INSERT INTO ServerPrepareMetadataCache VALUES (1, 'a')");
+      PreparedStatement prep =
+          connection.prepareStatement("SELECT * FROM ServerPrepareMetadataCache WHERE id = ?");
+      prep.setInt(1, 1);
+      for (int i = 0; i < 2; i++) {
+        ResultSet rs = prep.executeQuery();
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt("id"));
+        assertEquals("a", rs.getString("val"));
+        assertEquals(2, rs.getMetaData().getColumnCount());
+      }
+
+      // server sends column definitions again when they change
+      stmt.execute("ALTER TABLE ServerPrepareMetadataCache ADD COLUMN val2 int DEFAULT 3");
+      for (int i = 0; i < 2; i++) {
+        ResultSet rs = prep.executeQuery();
+        assertTrue(rs.next());
+        assertEquals(3, rs.getMetaData().getColumnCount());
+        assertEquals("a", rs.getString("val"));
+        assertEquals(3, rs.getInt("val2"));
+      }
+
+      // text result-sets reuse column definitions
+      for (int i = 0; i < 2; i++) {
+        ResultSet rs = stmt.executeQuery("SELECT * FROM ServerPrepareMetadataCache");
+        assertTrue(rs.next());
+        assertEquals("val", rs.getMetaData().getColumnName(2));
+        assertEquals("a", rs.getString("val"));
+      }
+    }
+  }
 }
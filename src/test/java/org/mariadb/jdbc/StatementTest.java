@@ -93,6 +93,7 @@ public class StatementTest extends BaseTest {
     createTable("vendor_code_test2", "a INT", "PARTITION BY KEY (a) (PARTITION x0, PARTITION x1)");
     createTable("vendor_code_test3", "a INT", "PARTITION BY LIST(a) (PARTITION p0 VALUES IN (1))");
     createTable("StatementTestt1", "c1 INT, c2 VARCHAR(255)");
+    createTable("result_cache_test", "id INT, val VARCHAR(20)");
   }
 
   @Test
@@ -715,4 +716,111 @@ public class StatementTest extends BaseTest {
     assertEquals(
         "'another\\Z\\'\\\"one\\n \\b test'", stmt.enquoteLiteral("another\u001A'\"one\n \b test"));
   }
+
+  @Test
+  public void resultCache() throws SQLException {
+    Statement stmt = sharedConnection.createStatement();
+    stmt.execute("INSERT INTO result_cache_test VALUES (1, 'a')");
+    try (Connection connection = setConnection("&resultCacheTtl=60")) {
+      MariaDbStatement cachedStmt = (MariaDbStatement) connection.createStatement();
+      cachedStmt.setResultCacheable(true);
+      PreparedStatement prep =
+          connection.prepareStatement("SELECT val FROM result_cache_test WHERE id = ?");
+      prep.unwrap(MariaDbStatement.class).setResultCacheable(true);
+      prep.setInt(1, 1);
+
+      ResultSet rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("a", rs.getString(1));
+      rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertEquals("a", rs.getString("val"));
+
+      // cached results are not invalidated by data changes of other clients
+      stmt.execute("UPDATE result_cache_test SET val = 'b'");
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("a", rs.getString(1));
+      assertFalse(rs.next());
+      assertSame(rs, cachedStmt.getResultSet());
+      assertFalse(cachedStmt.getMoreResults());
+      rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertEquals("a", rs.getString("val"));
+
+      // statements not marked as cacheable query server
+      rs = connection.createStatement().executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+
+      ((MariaDbConnection) connection).invalidateResultCache();
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+      rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString("val"));
+
+      // writes of connections sharing cache invalidate cached results
+      try (Connection otherConnection = setConnection("&resultCacheTtl=60")) {
+        otherConnection.createStatement().execute("UPDATE result_cache_test SET val = 'c'");
+      }
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("c", rs.getString(1));
+
+      // only read-only queries are cached
+      stmt.execute("UPDATE result_cache_test SET val = 'd'");
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("c", rs.getString(1));
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test LOCK IN SHARE MODE");
+      assertTrue(rs.next());
+      assertEquals("d", rs.getString(1));
+      stmt.execute("UPDATE result_cache_test SET val = 'e'");
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test LOCK IN SHARE MODE");
+      assertTrue(rs.next());
+      assertEquals("e", rs.getString(1));
+    }
+  }
+
+  @Test
+  public void resultCacheTransaction() throws SQLException {
+    Statement stmt = sharedConnection.createStatement();
+    stmt.execute("DELETE FROM result_cache_test");
+    stmt.execute("INSERT INTO result_cache_test VALUES (2, 'a')");
+    try (Connection connection = setConnection("&resultCacheTtl=60&allowMultiQueries=true");
+        Connection otherConnection = setConnection("&resultCacheTtl=60")) {
+      MariaDbStatement cachedStmt = (MariaDbStatement) connection.createStatement();
+      cachedStmt.setResultCacheable(true);
+      MariaDbStatement otherStmt = (MariaDbStatement) otherConnection.createStatement();
+      otherStmt.setResultCacheable(true);
+
+      // uncommitted changes are neither cached nor served to other connections
+      otherConnection.setAutoCommit(false);
+      otherStmt.execute("UPDATE result_cache_test SET val = 'b'");
+      ResultSet rs = otherStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("a", rs.getString(1));
+
+      // results cached during transaction are invalidated on commit
+      otherConnection.commit();
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+      otherConnection.setAutoCommit(true);
+
+      // a write following a read in a multi-query invalidates cache
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      stmt.execute("UPDATE result_cache_test SET val = 'c'");
+      connection.createStatement().execute("SELECT 1; UPDATE result_cache_test SET id = 3");
+      rs = cachedStmt.executeQuery("SELECT val FROM result_cache_test");
+      assertTrue(rs.next());
+      assertEquals("c", rs.getString(1));
+    }
+  }
 }
@@ -0,0 +1,181 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+
+public class ClusterTopologyTest {
+
+  private static final long VALIDITY = TimeUnit.SECONDS.toNanos(5);
+
+  @After
+  public void clear() {
+    ClusterTopology.clear();
+  }
+
+  @Test
+  public void sharedByCluster() {
+    assertSame(ClusterTopology.get("cluster1"), ClusterTopology.get("cluster1"));
+    assertNotSame(ClusterTopology.get("cluster1"), ClusterTopology.get("cluster2"));
+  }
+
+  @Test
+  public void replicaLag() {
+    ClusterTopology topology = ClusterTopology.get("cluster1");
+    HostAddress replica = new HostAddress("replica1", 3306);
+    assertFalse(topology.isLagging(replica, 1000, VALIDITY));
+
+    topology.setReplicaLag(replica, 500);
+    assertFalse(topology.isLagging(new HostAddress("replica1", 3306), 1000, VALIDITY));
+
+    topology.setReplicaLag(replica, 2000);
+    assertTrue(topology.isLagging(new HostAddress("replica1", 3306), 1000, VALIDITY));
+    assertFalse(topology.isLagging(new HostAddress("replica2", 3306), 1000, VALIDITY));
+
+    // outdated sample are ignored
+    assertFalse(topology.isLagging(replica, 1000, 0));
+  }
+
+  @Test
+  public void singleSampleClaim() {
+    ClusterTopology topology = ClusterTopology.get("cluster1");
+    HostAddress replica = new HostAddress("replica1", 3306);
+    long interval = TimeUnit.SECONDS.toNanos(10);
+    assertTrue(topology.tryClaimLagSample(replica, interval));
+    assertFalse(topology.tryClaimLagSample(replica, interval));
+    assertTrue(topology.tryClaimLagSample(new HostAddress("replica2", 3306), interval));
+    assertTrue(topology.tryClaimLagSample(replica, 0));
+  }
+
+  @Test
+  public void endpointsSingleRefresh() {
+    ClusterTopology topology = ClusterTopology.get("cluster1");
+    long ttl = TimeUnit.SECONDS.toNanos(30);
+    assertNull(topology.getEndpoints());
+
+    assertTrue(topology.tryStartEndpointsRefresh(ttl));
+    // refresh already in progress
+    assertFalse(topology.tryStartEndpointsRefresh(ttl));
+    // failed discovery doesn't set endpoints
+    topology.endEndpointsRefresh(new ArrayList<>());
+    assertNull(topology.getEndpoints());
+
+    assertTrue(topology.tryStartEndpointsRefresh(ttl));
+    topology.endEndpointsRefresh(Arrays.asList(new HostAddress("instance1", 3306)));
+    assertEquals(1, topology.getEndpoints().size());
+
+    // cached endpoints are still valid
+    assertFalse(topology.tryStartEndpointsRefresh(ttl));
+    assertTrue(topology.tryStartEndpointsRefresh(0));
+    topology.endEndpointsRefresh(null);
+    assertEquals(1, topology.getEndpoints().size());
+  }
+
+  @Test
+  public void endpointsNotification() {
+    ClusterTopology topology = ClusterTopology.get("cluster1");
+    final List<List<HostAddress>> notifications = new ArrayList<>();
+    ClusterTopology.EndpointsListener listener = notifications::add;
+    topology.addEndpointsListener(listener);
+
+    topology.tryStartEndpointsRefresh(0);
+    topology.endEndpointsRefresh(
+        Arrays.asList(new HostAddress("instance1", 3306), new HostAddress("instance2", 3306)));
+    assertEquals(1, notifications.size());
+
+    // same endpoints in another order : no notification
+    topology.tryStartEndpointsRefresh(0);
+    topology.endEndpointsRefresh(
+        Arrays.asList(new HostAddress("instance2", 3306), new HostAddress("instance1", 3306)));
+    assertEquals(1, notifications.size());
+
+    topology.tryStartEndpointsRefresh(0);
+    topology.endEndpointsRefresh(Arrays.asList(new HostAddress("instance1", 3306)));
+    assertEquals(2, notifications.size());
+    assertEquals(1, notifications.get(1).size());
+
+    topology.removeEndpointsListener(listener);
+    topology.tryStartEndpointsRefresh(0);
+    topology.endEndpointsRefresh(Arrays.asList(new HostAddress("instance3", 3306)));
+    assertEquals(2, notifications.size());
+  }
+
+  @Test
+  public void pruneUnused() {
+    ClusterTopology topology = ClusterTopology.get("cluster1");
+    ClusterTopology.EndpointsListener listener = endpoints -> {};
+    topology.addEndpointsListener(listener);
+
+    // topology with a registered listener is kept
+    long later = System.nanoTime() + TimeUnit.MINUTES.toNanos(11);
+    ClusterTopology.prune(later);
+    assertFalse(topology.isRemoved());
+    assertSame(topology, ClusterTopology.get("cluster1"));
+
+    topology.removeEndpointsListener(listener);
+    ClusterTopology.prune(System.nanoTime());
+    assertFalse(topology.isRemoved());
+
+    ClusterTopology.prune(later);
+    assertTrue(topology.isRemoved());
+    assertNotSame(topology, ClusterTopology.get("cluster1"));
+  }
+}
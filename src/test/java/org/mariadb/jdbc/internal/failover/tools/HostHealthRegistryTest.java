@@ -0,0 +1,121 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+
+public class HostHealthRegistryTest {
+
+  private static final long MAX_BACKOFF = TimeUnit.SECONDS.toNanos(50);
+
+  @After
+  public void clear() {
+    HostHealthRegistry.clear();
+  }
+
+  @Test
+  public void healthyHost() {
+    HostAddress host = new HostAddress("host1", 3306);
+    assertTrue(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+    assertTrue(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+    assertTrue(HostHealthRegistry.getFailingHosts().isEmpty());
+  }
+
+  @Test
+  public void failingHostBackoff() {
+    HostAddress host = new HostAddress("host1", 3306);
+    HostHealthRegistry.markFailure(host, MAX_BACKOFF);
+    assertTrue(HostHealthRegistry.getFailingHosts().contains(new HostAddress("host1", 3306)));
+
+    // still in backoff
+    assertFalse(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+    assertTrue(HostHealthRegistry.tryClaimProbe(new HostAddress("host2", 3306), MAX_BACKOFF));
+
+    HostHealthRegistry.markSuccess(new HostAddress("host1", 3306));
+    assertTrue(HostHealthRegistry.getFailingHosts().isEmpty());
+    assertTrue(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+  }
+
+  @Test
+  public void singleProber() {
+    HostAddress host = new HostAddress("host1", 3306);
+    // no backoff : probe is possible immediately
+    HostHealthRegistry.markFailure(host, 0);
+    assertTrue(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+    // probe in progress
+    assertFalse(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+    HostHealthRegistry.markFailure(host, MAX_BACKOFF);
+    assertFalse(HostHealthRegistry.tryClaimProbe(host, MAX_BACKOFF));
+  }
+
+  @Test
+  public void removeIdle() {
+    HostAddress host = new HostAddress("host1", 3306);
+    HostHealthRegistry.markFailure(host, MAX_BACKOFF);
+    // backoff not elapsed
+    HostHealthRegistry.removeIdle(0);
+    assertEquals(1, HostHealthRegistry.getFailingHosts().size());
+
+    HostHealthRegistry.clear();
+    HostHealthRegistry.markFailure(host, 0);
+    HostHealthRegistry.removeIdle(MAX_BACKOFF);
+    assertEquals(1, HostHealthRegistry.getFailingHosts().size());
+    HostHealthRegistry.removeIdle(0);
+    assertTrue(HostHealthRegistry.getFailingHosts().isEmpty());
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.input;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class PacketInputStreamTest {
+
+  private static final int MAX_PACKET_SIZE = 0xffffff;
+  private static final byte[] SMALL = new byte[] {1, 2, 3};
+
+  private static byte[] content(int length) {
+    byte[] content = new byte[length];
+    new Random(length).nextBytes(content);
+    return content;
+  }
+
+  /** Standard packets of content, split in 16M packets, followed by a small packet. */
+  private static byte[] frame(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 0;
+    int pos = 0;
+    int length;
+    do {
+      length = Math.min(MAX_PACKET_SIZE, content.length - pos);
+      writePacket(out, seq++, content, pos, length);
+      pos += length;
+    } while (length == MAX_PACKET_SIZE);
+    writePacket(out, seq, SMALL, 0, SMALL.length);
+    return out.toByteArray();
+  }
+
+  private static void writePacket(
+      ByteArrayOutputStream out, int seq, byte[] content, int off, int length) {
+    out.write(length);
+    out.write(length >>> 8);
+    out.write(length >>> 16);
+    out.write(seq);
+    out.write(content, off, length);
+  }
+
+  /** Compressed protocol frames of standard packets, alternating compressed and raw frames. */
+  private static byte[] compressedFrame(byte[] standard) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 0;
+    for (int pos = 0; pos < standard.length; pos += 5_000_000) {
+      int length = Math.min(5_000_000, standard.length - pos);
+      byte[] data = Arrays.copyOfRange(standard, pos, pos + length);
+      int decompressedLength = 0;
+      if (seq % 2 == 0) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        while (!deflater.finished()) {
+          compressed.write(buf, 0, deflater.deflate(buf));
+        }
+        deflater.end();
+        data = compressed.toByteArray();
+        decompressedLength = length;
+      }
+      out.write(data.length);
+      out.write(data.length >>> 8);
+      out.write(data.length >>> 16);
+      out.write(seq++);
+      out.write(decompressedLength);
+      out.write(decompressedLength >>> 8);
+      out.write(decompressedLength >>> 16);
+      out.write(data, 0, data.length);
+    }
+    return out.toByteArray();
+  }
+
+  private static void checkReassembly(PacketInputStream in, byte[] content) throws Exception {
+    assertArrayEquals(content, in.getPacketArray(false));
+    assertArrayEquals(SMALL, in.getPacketArray(false));
+  }
+
+  @Test
+  public void standardBigPacket() throws Exception {
+    for (int length : new int[] {MAX_PACKET_SIZE + 1000, 2 * MAX_PACKET_SIZE}) {
+      byte[] content = content(length);
+      checkReassembly(
+          new StandardPacketInputStream(new ByteArrayInputStream(frame(content)), new Options(), 0),
+          content);
+    }
+  }
+
+  @Test
+  public void decompressBigPacket() throws Exception {
+    for (int length : new int[] {MAX_PACKET_SIZE + 1000, 2 * MAX_PACKET_SIZE}) {
+      byte[] content = content(length);
+      checkReassembly(
+          new DecompressPacketInputStream(
+              new ByteArrayInputStream(compressedFrame(frame(content))), 1024, 0),
+          content);
+    }
+  }
+}
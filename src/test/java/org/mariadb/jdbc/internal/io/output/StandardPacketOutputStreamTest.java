@@ -0,0 +1,177 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.output;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class StandardPacketOutputStreamTest {
+
+  private static final int CHUNK_LENGTH = 8192;
+
+  private static String repeat(char ch, int count) {
+    char[] chars = new char[count];
+    Arrays.fill(chars, ch);
+    return new String(chars);
+  }
+
+  /**
+   * Write a string in a packet, returning packet payload.
+   *
+   * @param str string
+   * @param escape must be escape
+   * @return payload
+   * @throws IOException if any error occur
+   */
+  private static byte[] write(String str, boolean escape) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    PacketOutputStream pos = new StandardPacketOutputStream(baos, new Options(), 0);
+    pos.startPacket(0);
+    pos.write(str, escape, true);
+    pos.flush();
+    byte[] packet = baos.toByteArray();
+    int length = (packet[0] & 0xff) | ((packet[1] & 0xff) << 8) | ((packet[2] & 0xff) << 16);
+    assertEquals(packet.length - 4, length);
+    return Arrays.copyOfRange(packet, 4, packet.length);
+  }
+
+  private static void checkEncoding(String str) throws IOException {
+    assertArrayEquals(str.getBytes(StandardCharsets.UTF_8), write(str, false));
+    byte[] escaped = ("'" + str.replace("'", "''") + "'").getBytes(StandardCharsets.UTF_8);
+    assertArrayEquals(escaped, write(str, true));
+  }
+
+  @Test
+  public void surrogatePairAtChunkBoundary() throws IOException {
+    // high surrogate is last character of first chunk
+    checkEncoding(repeat('a', CHUNK_LENGTH - 1) + "🎤" + repeat('\'', 20));
+    checkEncoding(repeat('a', CHUNK_LENGTH) + "🎤end");
+    checkEncoding(repeat('é', CHUNK_LENGTH * 2 - 1) + "🎤");
+  }
+
+  @Test
+  public void unpairedSurrogates() throws IOException {
+    // lone high surrogate ending string is encoded as '?', like String.getBytes
+    checkEncoding("end \uD83C");
+    checkEncoding(repeat('a', CHUNK_LENGTH * 2) + "\uD83C");
+    checkEncoding(repeat('a', CHUNK_LENGTH - 1) + "\uD83Cb");
+    checkEncoding("\uDFA4 low");
+  }
+
+  private static int naiveIndexOfEscape(byte[] bytes, int off, int len, boolean noBackslash) {
+    for (int i = off; i < len; i++) {
+      byte b = bytes[i];
+      if (b == '\'' || (!noBackslash && (b == '\\' || b == '"' || b == 0))) {
+        return i;
+      }
+    }
+    return len;
+  }
+
+  private static void checkIndexOfEscape(byte[] bytes, int off) {
+    for (boolean noBackslash : new boolean[] {true, false}) {
+      assertEquals(
+          Arrays.toString(bytes) + " from " + off,
+          naiveIndexOfEscape(bytes, off, bytes.length, noBackslash),
+          AbstractPacketOutputStream.indexOfEscape(bytes, off, bytes.length, noBackslash));
+    }
+  }
+
+  @Test
+  public void indexOfEscapeEveryPosition() {
+    // filler bytes include high-bit values differing from escaped bytes by high bit only
+    byte[] fillers = {'a', (byte) 0x80, (byte) 0xff, (byte) 0xa7, (byte) 0xdc, (byte) 0xa2, 1};
+    byte[] escaped = {'\'', '\\', '"', 0};
+    for (byte filler : fillers) {
+      for (int len = 0; len <= 24; len++) {
+        byte[] bytes = new byte[len];
+        Arrays.fill(bytes, filler);
+        for (int off = 0; off <= Math.min(len, 8); off++) {
+          checkIndexOfEscape(bytes, off);
+        }
+        for (byte escape : escaped) {
+          for (int i = 0; i < len; i++) {
+            bytes[i] = escape;
+            for (int off = 0; off <= Math.min(len, 8); off++) {
+              checkIndexOfEscape(bytes, off);
+            }
+            bytes[i] = filler;
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void indexOfEscapeRandom() {
+    Random random = new Random(0);
+    byte[] candidates = {'\'', '\\', '"', 0, 'a', (byte) 0x80, (byte) 0xa7, (byte) 0xdc};
+    for (int iteration = 0; iteration < 10000; iteration++) {
+      byte[] bytes = new byte[random.nextInt(40)];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] =
+            random.nextInt(8) == 0
+                ? candidates[random.nextInt(candidates.length)]
+                : (byte) random.nextInt(256);
+      }
+      checkIndexOfEscape(bytes, bytes.length == 0 ? 0 : random.nextInt(bytes.length));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol.tls;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.security.KeyStore;
+import javax.net.ssl.SSLContext;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class DefaultTlsSocketPluginTest {
+
+  @After
+  public void clear() {
+    DefaultTlsSocketPlugin.clearCache();
+  }
+
+  @Test
+  public void contextSharedByConfiguration() throws Exception {
+    Options options = new Options();
+    SSLContext context = DefaultTlsSocketPlugin.getContext(options);
+    assertSame(context, DefaultTlsSocketPlugin.getContext(new Options()));
+
+    options.trustServerCertificate = true;
+    assertNotSame(context, DefaultTlsSocketPlugin.getContext(options));
+
+    DefaultTlsSocketPlugin.clearCache();
+    assertNotSame(context, DefaultTlsSocketPlugin.getContext(new Options()));
+  }
+
+  @Test
+  public void contextDependsOnTrustStoreProperties() throws Exception {
+    SSLContext context = DefaultTlsSocketPlugin.getContext(new Options());
+    String previous = System.getProperty("javax.net.ssl.trustStorePassword");
+    // default trust manager reads trust store properties when no trust option is set
+    System.setProperty("javax.net.ssl.trustStorePassword", "changeit");
+    try {
+      assertNotSame(context, DefaultTlsSocketPlugin.getContext(new Options()));
+    } finally {
+      if (previous == null) {
+        System.clearProperty("javax.net.ssl.trustStorePassword");
+      } else {
+        System.setProperty("javax.net.ssl.trustStorePassword", previous);
+      }
+    }
+    assertSame(context, DefaultTlsSocketPlugin.getContext(new Options()));
+  }
+
+  @Test
+  public void contextReloadedWhenFileModified() throws Exception {
+    File trustStore = File.createTempFile("truststore", ".jks");
+    try {
+      KeyStore keyStore = KeyStore.getInstance("JKS");
+      keyStore.load(null, null);
+      try (OutputStream out = new FileOutputStream(trustStore)) {
+        keyStore.store(out, "password".toCharArray());
+      }
+      Options options = new Options();
+      options.trustStore = trustStore.getAbsolutePath();
+      options.trustStorePassword = "password";
+      options.trustStoreType = "JKS";
+
+      SSLContext context = DefaultTlsSocketPlugin.getContext(options);
+      assertSame(context, DefaultTlsSocketPlugin.getContext(options));
+
+      // rotated trust store is loaded by next connections
+      assertTrue(trustStore.setLastModified(trustStore.lastModified() + 10_000));
+      SSLContext rotated = DefaultTlsSocketPlugin.getContext(options);
+      assertNotSame(context, rotated);
+      assertSame(rotated, DefaultTlsSocketPlugin.getContext(options));
+    } finally {
+      trustStore.delete();
+    }
+  }
+}
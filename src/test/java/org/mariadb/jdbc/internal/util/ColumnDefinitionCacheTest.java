@@ -0,0 +1,128 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.Buffer;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+public class ColumnDefinitionCacheTest {
+
+  private static Buffer packet(String name) {
+    // column definition packet : empty catalog, schema, table, org_table, then name and org_name
+    byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+    byte[] arr = new byte[19 + 2 * nameBytes.length];
+    int pos = 4;
+    for (int i = 0; i < 2; i++) {
+      arr[pos++] = (byte) nameBytes.length;
+      System.arraycopy(nameBytes, 0, arr, pos, nameBytes.length);
+      pos += nameBytes.length;
+    }
+    arr[pos++] = 0xc;
+    arr[pos++] = 33;
+    pos += 5;
+    arr[pos] = (byte) ColumnType.VARSTRING.getType();
+    return new Buffer(arr, arr.length);
+  }
+
+  @Test
+  public void reuseDefinitions() {
+    ColumnDefinitionCache cache = new ColumnDefinitionCache();
+    byte[] reusable = new byte[1024];
+    Buffer packet = packet("name");
+    System.arraycopy(packet.buf, 0, reusable, 0, packet.limit);
+
+    ColumnDefinition column = cache.get(new Buffer(reusable, packet.limit));
+    assertEquals("name", column.getName());
+
+    // cached definition doesn't depend on reusable buffer
+    Arrays.fill(reusable, (byte) 0);
+    assertEquals("name", column.getName());
+    assertEquals(ColumnType.VARSTRING, column.getColumnType());
+
+    assertSame(column, cache.get(packet("name")));
+    assertNotSame(column, cache.get(packet("other")));
+    assertEquals("other", cache.get(packet("other")).getName());
+  }
+
+  @Test
+  public void sharedDefinitionNames() throws Exception {
+    ColumnDefinition column = new ColumnDefinitionCache().get(packet("col"));
+    Thread[] threads = new Thread[4];
+    boolean[] errors = new boolean[threads.length];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 1000; j++) {
+                  if (!"col".equals(column.getName()) || !"".equals(column.getTable())) {
+                    errors[index] = true;
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (boolean error : errors) {
+      assertFalse(error);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+public class MetadataCacheTest {
+
+  private static final ColumnDefinition[] COLUMNS =
+      new ColumnDefinition[] {ColumnDefinition.create("TABLE_NAME", ColumnType.STRING)};
+
+  @After
+  public void clear() {
+    MetadataCache.clear();
+  }
+
+  @Test
+  public void sharedByConfiguration() throws Exception {
+    String url = "jdbc:mariadb://localhost/db?metadataCacheTtl=10";
+    MetadataCache cache = MetadataCache.get(UrlParser.parse(url));
+    assertSame(cache, MetadataCache.get(UrlParser.parse(url)));
+    assertNotSame(cache, MetadataCache.get(UrlParser.parse(url.replace("localhost", "host2"))));
+  }
+
+  @Test
+  public void cacheAndInvalidate() throws Exception {
+    MetadataCache cache =
+        MetadataCache.get(UrlParser.parse("jdbc:mariadb://localhost/db?metadataCacheTtl=10"));
+    List<byte[]> rows = new ArrayList<>();
+    assertNull(cache.get("db", "SELECT 1"));
+
+    cache.put("db", "SELECT 1", cache.getGeneration(), COLUMNS, rows);
+    assertSame(rows, cache.get("db", "SELECT 1").getRows());
+    assertNull(cache.get("otherDb", "SELECT 1"));
+    assertNull(cache.get(null, "SELECT 1"));
+
+    // result retrieved before an invalidation is not cached
+    long generation = cache.getGeneration();
+    cache.invalidate();
+    assertNull(cache.get("db", "SELECT 1"));
+    cache.put("db", "SELECT 1", generation, COLUMNS, rows);
+    assertNull(cache.get("db", "SELECT 1"));
+  }
+
+  @Test
+  public void expiration() throws Exception {
+    MetadataCache cache =
+        MetadataCache.get(UrlParser.parse("jdbc:mariadb://localhost/db?metadataCacheTtl=0"));
+    cache.put(null, "SELECT 1", cache.getGeneration(), COLUMNS, new ArrayList<>());
+    assertNull(cache.get(null, "SELECT 1"));
+  }
+
+  @Test
+  public void pruneUnusedCaches() throws Exception {
+    UrlParser urlParser = UrlParser.parse("jdbc:mariadb://localhost/db?metadataCacheTtl=10");
+    MetadataCache cache = MetadataCache.get(urlParser);
+
+    MetadataCache.prune(System.nanoTime());
+    assertSame(cache, MetadataCache.get(urlParser));
+
+    MetadataCache.prune(System.nanoTime() + TimeUnit.SECONDS.toNanos(11));
+    assertNotSame(cache, MetadataCache.get(urlParser));
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+import org.mariadb.jdbc.internal.com.send.parameters.ByteArrayParameter;
+import org.mariadb.jdbc.internal.com.send.parameters.IntParameter;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.com.send.parameters.StreamParameter;
+import org.mariadb.jdbc.internal.com.send.parameters.StringParameter;
+import org.mariadb.jdbc.util.Options;
+
+public class ResultCacheTest {
+
+  private static final ColumnDefinition[] COLUMNS =
+      new ColumnDefinition[] {ColumnDefinition.create("NAME", ColumnType.STRING)};
+
+  @After
+  public void clear() {
+    ResultCache.clear();
+  }
+
+  private static String key(String sql, ParameterHolder... parameters) {
+    return ResultCache.key("db", 0, sql, parameters, false, new Options());
+  }
+
+  @Test
+  public void keys() {
+    String sql = "SELECT * FROM t WHERE a = ? AND b = ?";
+    String key =
+        key(sql, new StringParameter("a,b", false), new ByteArrayParameter(new byte[] {0}, false));
+    assertEquals(
+        key,
+        key(sql, new StringParameter("a,b", false), new ByteArrayParameter(new byte[] {0}, false)));
+    assertNotEquals(
+        key, key(sql, new StringParameter("a", false), new StringParameter("b", false)));
+    assertNotEquals(
+        key,
+        key(sql, new StringParameter("a,b", false), new ByteArrayParameter(new byte[] {1}, false)));
+    assertNotEquals(key(sql, new IntParameter(1)), key(sql, new StringParameter("1", false)));
+
+    assertEquals(key("SELECT 1"), key(" SELECT 1 "));
+    assertNotEquals(
+        key("SELECT 1"), ResultCache.key("db2", 0, "SELECT 1", null, false, new Options()));
+    assertNotEquals(
+        key("SELECT 1"), ResultCache.key("db", 10, "SELECT 1", null, false, new Options()));
+    assertNotEquals(
+        key("SELECT 1"), ResultCache.key("db", 0, "SELECT 1", null, true, new Options()));
+
+    // streams and missing parameters can't be cached
+    assertNull(key(sql, new StreamParameter(new ByteArrayInputStream(new byte[1]), false)));
+    assertNull(key(sql, new IntParameter(1), null));
+  }
+
+  @Test
+  public void binaryFormat() throws Exception {
+    ResultCache cache =
+        ResultCache.get(UrlParser.parse("jdbc:mariadb://localhost/db?resultCacheTtl=10"));
+    List<byte[]> rows = new ArrayList<>();
+    cache.put("k", cache.getGeneration(), COLUMNS, rows, true);
+    assertSame(rows, cache.get("k").getRows());
+    assertSame(COLUMNS, cache.get("k").getColumns());
+    assertTrue(cache.get("k").isBinaryFormat());
+
+    cache.put("k", cache.getGeneration(), COLUMNS, rows, false);
+    assertFalse(cache.get("k").isBinaryFormat());
+  }
+
+  @Test
+  public void leastRecentlyUsedEviction() throws Exception {
+    ResultCache cache =
+        ResultCache.get(
+            UrlParser.parse(
+                "jdbc:mariadb://localhost/db?resultCacheTtl=10&resultCacheMaxBytes=2000"));
+    List<byte[]> rows = Collections.singletonList(new byte[500]);
+    cache.put("k1", cache.getGeneration(), COLUMNS, rows, false);
+    cache.put("k2", cache.getGeneration(), COLUMNS, rows, false);
+    assertNotNull(cache.get("k1"));
+
+    // k2 is least recently used
+    cache.put("k3", cache.getGeneration(), COLUMNS, rows, false);
+    assertNull(cache.get("k2"));
+    assertNotNull(cache.get("k1"));
+    assertNotNull(cache.get("k3"));
+
+    // result bigger than cache is not cached
+    List<byte[]> bigRows = Collections.singletonList(new byte[2000]);
+    cache.put("k4", cache.getGeneration(), COLUMNS, bigRows, false);
+    assertNull(cache.get("k4"));
+    assertNotNull(cache.get("k1"));
+  }
+}
@@ -54,15 +54,20 @@ package org.mariadb.jdbc.internal.util;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mariadb.jdbc.internal.util.scheduler.DynamicSizedSchedulerInterface;
+import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder.SchedulerProvider;
 
@@ -72,6 +77,8 @@ public class SchedulerServiceProviderHolderTest {
   @Before
   public void providerReset() {
     SchedulerServiceProviderHolder.setSchedulerProvider(null);
+    SchedulerServiceProviderHolder.setExecutor(null);
+    SchedulerServiceProviderHolder.setUseVirtualThreads(false);
   }
 
   @Test
@@ -158,4 +165,52 @@ public class SchedulerServiceProviderHolderTest {
     SchedulerServiceProviderHolder.setSchedulerProvider(emptyProvider);
     assertTrue(emptyProvider == SchedulerServiceProviderHolder.getSchedulerProvider());
   }
+
+  @Test
+  public void applicationExecutorTest() throws Exception {
+    AtomicInteger executed = new AtomicInteger();
+    Executor executor =
+        command -> {
+          executed.incrementAndGet();
+          command.run();
+        };
+    SchedulerServiceProviderHolder.setExecutor(executor);
+    try {
+      assertTrue(executor == SchedulerServiceProviderHolder.getBulkScheduler());
+
+      FutureTask<Integer> task = new FutureTask<>(() -> 1);
+      SchedulerServiceProviderHolder.getBulkScheduler().execute(task);
+      assertEquals(1, task.get().intValue());
+      assertEquals(1, executed.get());
+    } finally {
+      SchedulerServiceProviderHolder.setExecutor(null);
+    }
+    assertTrue(SchedulerServiceProviderHolder.getBulkScheduler() instanceof ThreadPoolExecutor);
+  }
+
+  @Test
+  public void virtualThreadsTest() throws Exception {
+    if (!MariaDbThreadFactory.isVirtualThreadSupported()) {
+      try {
+        SchedulerServiceProviderHolder.setUseVirtualThreads(true);
+        fail("must have thrown exception");
+      } catch (UnsupportedOperationException e) {
+        // expected
+      }
+      return;
+    }
+
+    SchedulerServiceProviderHolder.setUseVirtualThreads(true);
+    try {
+      Thread thread = new MariaDbThreadFactory("testVirtual").newThread(() -> {});
+      assertEquals("testVirtual-1", thread.getName());
+      assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+    } finally {
+      SchedulerServiceProviderHolder.setUseVirtualThreads(false);
+    }
+
+    Thread thread = new MariaDbThreadFactory("testPlatform").newThread(() -> {});
+    assertFalse((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+    assertTrue(thread.isDaemon());
+  }
 }
@@ -0,0 +1,229 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ * This particular MariaDB Client for Java file is work
+ * derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+ * the following copyright and notice provisions:
+ *
+ * Copyright (c) 2009-2011, Marcus Eriksson
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this list
+ * of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice, this
+ * list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * Neither the name of the driver nor the names of its contributors may not be
+ * used to endorse or promote products derived from this software without specific
+ * prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.util.scheduler.TimeoutWheel;
+
+public class TimeoutWheelTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private TimeoutWheel wheel;
+
+  @Before
+  public void createWheel() {
+    time.set(123456789L);
+    wheel = new TimeoutWheel(time::get);
+  }
+
+  private void advance(long delay, TimeUnit unit) {
+    time.addAndGet(unit.toNanos(delay));
+    wheel.tick();
+  }
+
+  @Test
+  public void expire() {
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle = wheel.newHandle(counter::incrementAndGet);
+    handle.schedule(200, TimeUnit.MILLISECONDS);
+    advance(150, TimeUnit.MILLISECONDS);
+    assertEquals(0, counter.get());
+    assertEquals(1, wheel.getLinkedCount());
+    advance(50, TimeUnit.MILLISECONDS);
+    assertEquals(1, counter.get());
+    assertEquals(0, wheel.getLinkedCount());
+  }
+
+  @Test
+  public void cancelRemovesHandle() {
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle = wheel.newHandle(counter::incrementAndGet);
+    handle.schedule(10, TimeUnit.SECONDS);
+    wheel.tick();
+    assertEquals(1, wheel.getLinkedCount());
+
+    // cancelled handle is unlinked on next tick, not when its bucket is reached
+    handle.cancel();
+    wheel.tick();
+    assertEquals(0, wheel.getLinkedCount());
+    advance(20, TimeUnit.SECONDS);
+    assertEquals(0, counter.get());
+  }
+
+  @Test
+  public void reuseHandle() {
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle = wheel.newHandle(counter::incrementAndGet);
+    for (int i = 0; i < 100; i++) {
+      handle.schedule(10, TimeUnit.SECONDS);
+      handle.cancel();
+    }
+    handle.schedule(100, TimeUnit.MILLISECONDS);
+    advance(100, TimeUnit.MILLISECONDS);
+    assertEquals(1, counter.get());
+
+    // expired handle can be scheduled again
+    handle.schedule(100, TimeUnit.MILLISECONDS);
+    advance(100, TimeUnit.MILLISECONDS);
+    handle.cancel();
+    assertEquals(2, counter.get());
+    assertEquals(0, wheel.getLinkedCount());
+  }
+
+  @Test
+  public void reschedule() {
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle = wheel.newHandle(counter::incrementAndGet);
+    handle.schedule(10, TimeUnit.SECONDS);
+    wheel.tick();
+    // scheduling again replaces deadline
+    handle.schedule(100, TimeUnit.MILLISECONDS);
+    advance(100, TimeUnit.MILLISECONDS);
+    assertEquals(1, counter.get());
+    advance(20, TimeUnit.SECONDS);
+    assertEquals(1, counter.get());
+    assertEquals(0, wheel.getLinkedCount());
+  }
+
+  @Test
+  public void cancelWaitRunningTask() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle =
+        wheel.newHandle(
+            () -> {
+              started.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                // eat
+              }
+              counter.incrementAndGet();
+            });
+    handle.schedule(0, TimeUnit.MILLISECONDS);
+    // timeouts expire at earliest on next tick
+    Thread ticker = new Thread(() -> advance(100, TimeUnit.MILLISECONDS));
+    ticker.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    new Thread(release::countDown).start();
+    // interrupted thread still waits for task to finish, and handle stays reusable
+    Thread.currentThread().interrupt();
+    handle.cancel();
+    assertTrue(Thread.interrupted());
+    assertEquals(1, counter.get());
+    ticker.join();
+
+    handle.schedule(0, TimeUnit.MILLISECONDS);
+    advance(100, TimeUnit.MILLISECONDS);
+    assertEquals(2, counter.get());
+  }
+
+  @Test
+  public void manyHandles() {
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle[] handles = new TimeoutWheel.Handle[1000];
+    for (int i = 0; i < handles.length; i++) {
+      handles[i] = wheel.newHandle(counter::incrementAndGet);
+      handles[i].schedule(100 + i % 300, TimeUnit.MILLISECONDS);
+    }
+    for (int i = 1; i < handles.length; i += 2) {
+      handles[i].cancel();
+    }
+    for (int i = 0; i < 5; i++) {
+      advance(100, TimeUnit.MILLISECONDS);
+    }
+    assertEquals(500, counter.get());
+    assertEquals(0, wheel.getLinkedCount());
+  }
+
+  @Test
+  public void longDelay() {
+    // delay longer than a wheel turn
+    AtomicInteger counter = new AtomicInteger();
+    TimeoutWheel.Handle handle = wheel.newHandle(counter::incrementAndGet);
+    handle.schedule(1, TimeUnit.HOURS);
+    for (int i = 0; i < 59; i++) {
+      advance(1, TimeUnit.MINUTES);
+    }
+    assertEquals(0, counter.get());
+    advance(1, TimeUnit.MINUTES);
+    assertEquals(1, counter.get());
+  }
+
+  @Test
+  public void wheelThread() throws InterruptedException {
+    TimeoutWheel threadWheel = new TimeoutWheel("testTimeoutWheel");
+    try {
+      CountDownLatch latch = new CountDownLatch(1);
+      threadWheel.newHandle(latch::countDown).schedule(100, TimeUnit.MILLISECONDS);
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      try {
+        threadWheel.tick();
+        fail("must have thrown error");
+      } catch (IllegalStateException e) {
+        // expected
+      }
+    } finally {
+      threadWheel.close();
+    }
+  }
+}
@@ -54,6 +54,7 @@ package org.mariadb.jdbc.internal.util;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.com.send.parameters.StringParameter;
@@ -156,4 +157,50 @@ public class UtilsTest {
     assertEquals("C3C20186", Utils.intToHexString(-1010695802));
     assertEquals("FFFFFFFF", Utils.intToHexString(-1));
   }
+
+  @Test
+  public void ddlDetection() {
+    assertTrue(Utils.isDdl("CREATE TABLE t1 (id int)"));
+    assertTrue(Utils.isDdl("  alter table t1 add column c int"));
+    assertTrue(Utils.isDdl("/* comment */ DROP TABLE t1"));
+    assertTrue(Utils.isDdl("\nTRUNCATE t1"));
+    assertFalse(Utils.isDdl("SELECT * FROM t1"));
+    assertFalse(Utils.isDdl("INSERT INTO t1 VALUES ('CREATE')"));
+    assertFalse(Utils.isDdl("CREATED"));
+  }
+
+  @Test
+  public void readOnlyQueryDetection() {
+    assertTrue(Utils.isReadOnlyQuery("SELECT * FROM t1"));
+    assertTrue(Utils.isReadOnlyQuery("  select * from t1 where a = 'UPDATE'"));
+    assertTrue(Utils.isReadOnlyQuery("/* comment */ SHOW TABLES"));
+    assertTrue(Utils.isReadOnlyQuery("WITH c AS (SELECT 1) SELECT * FROM c"));
+    assertTrue(Utils.isReadOnlyQuery("EXPLAIN SELECT * FROM t1"));
+    assertFalse(Utils.isReadOnlyQuery("INSERT INTO t1 SELECT * FROM t2"));
+    assertFalse(Utils.isReadOnlyQuery("UPDATE t1 SET a = 1"));
+    assertFalse(Utils.isReadOnlyQuery("SET @a = 1"));
+    assertFalse(Utils.isReadOnlyQuery("SELECT * FROM t1 FOR UPDATE"));
+    assertFalse(Utils.isReadOnlyQuery("SELECT * FROM t1 LOCK IN SHARE MODE"));
+    assertFalse(Utils.isReadOnlyQuery("SELECT a INTO @a FROM t1"));
+    assertFalse(Utils.isReadOnlyQuery("SELECTED"));
+  }
+
+  @Test
+  public void utf8Length() {
+    String[] values =
+        new String[] {
+          "",
+          "abc",
+          "\u00e9t\u00e9",
+          "\u20ac 10",
+          "\uD83C\uDFA4 mic",
+          "end \uD83C",
+          "\uDFA4 low",
+          "\uD83C\u0041",
+          "\uD83C\uD83C\uDFA4"
+        };
+    for (String value : values) {
+      assertEquals(value, value.getBytes(StandardCharsets.UTF_8).length, Utils.utf8Length(value));
+    }
+  }
 }
@@ -94,6 +94,23 @@ public class ClientPrepareResultTest {
     assertTrue(checkRewritable("INSERT INTO TABLE //SELECT"));
   }
 
+  /** Only a semicolon followed by another command makes a multi-query. */
+  @Test
+  public void multiQuery() {
+    assertTrue(ClientPrepareResult.isMultiQuery("SELECT 1; DELETE FROM t", false));
+    assertTrue(ClientPrepareResult.isMultiQuery("SELECT 1;DROP TABLE t", false));
+    assertTrue(ClientPrepareResult.isMultiQuery("SELECT 1; /* c */ DROP TABLE t", false));
+    assertTrue(ClientPrepareResult.isMultiQuery("SELECT 1; -- c\nDROP TABLE t", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 1", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 1;", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 1; -- c", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 1; /* c */ ", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT ';DROP TABLE t'", false));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 'a\\';DROP' FROM `t;x`", false));
+    assertTrue(ClientPrepareResult.isMultiQuery("SELECT 'a\\';DROP TABLE t", true));
+    assertFalse(ClientPrepareResult.isMultiQuery("SELECT 1 /* ; DROP TABLE t */", false));
+  }
+
   private boolean checkRewritable(String query) {
     return ClientPrepareResult.rewritableParts(query, true).isQueryMultiValuesRewritable();
   }